@@ -0,0 +1,268 @@
+package AdjacencyArray;
+
+import java.util.Arrays;
+import java.util.List;
+
+import AdjacencyList.AdjacencyListDirectedGraph;
+import AdjacencyList.AdjacencyListDirectedValuedGraph;
+import GraphAlgorithms.GraphTools;
+import Nodes_Edges.Arc;
+import Nodes_Edges.DirectedNode;
+import Nodes_Edges.NeighbourList;
+
+/**
+ * This class represents a read-only directed graph stored in the compressed sparse
+ * row (CSR) format. The successors of u are the entries succTargets[succOffsets[u]]
+ * to succTargets[succOffsets[u+1]-1], with their weights at the same positions in
+ * succWeights. A transposed copy (predOffsets, predSources, predWeights) gives the
+ * predecessors.
+ * The order of the successors of a node is the order of its list getArcSucc()
+ * in the adjacency list it was built from, so traversals give the same results.
+ */
+public class AdjacencyArrayDirectedGraph {
+
+	//--------------------------------------------------
+	// 				Class variables
+	//--------------------------------------------------
+
+	protected int nbNodes;			// Number of vertices
+	protected int nbArcs;			// Number of arcs
+	protected int[] succOffsets;	// succOffsets[u] is the index of the first successor of u, size nbNodes+1
+	protected int[] succTargets;	// destination of each out-going arc, grouped by origin
+	protected int[] succWeights;	// weight of each out-going arc
+	protected int[] predOffsets;	// predOffsets[v] is the index of the first predecessor of v, size nbNodes+1
+	protected int[] predSources;	// origin of each in-going arc, grouped by destination
+	protected int[] predWeights;	// weight of each in-going arc
+
+	//--------------------------------------------------
+	// 				Constructors
+	//--------------------------------------------------
+
+	/**
+	 * Builds the CSR form in O(n+m) from the successor lists of an adjacency list
+	 * (AdjacencyListDirectedGraph or AdjacencyListDirectedValuedGraph).
+	 */
+	public AdjacencyArrayDirectedGraph(AdjacencyListDirectedGraph g) {
+		List<DirectedNode> nodes = g.getNodes();
+		this.nbNodes = nodes.size();
+		this.succOffsets = new int[this.nbNodes + 1];
+		for (int u = 0; u < this.nbNodes; u++) {
+			this.succOffsets[u + 1] = this.succOffsets[u] + nodes.get(u).getNbSuccs();
+		}
+		this.nbArcs = this.succOffsets[this.nbNodes];
+		this.succTargets = new int[this.nbArcs];
+		this.succWeights = new int[this.nbArcs];
+		for (int u = 0; u < this.nbNodes; u++) {
+			NeighbourList<Arc> succ = nodes.get(u).getArcSucc();
+			for (int k = 0, i = this.succOffsets[u]; k < succ.size(); k++, i++) {
+				this.succTargets[i] = succ.getLabel(k);
+				this.succWeights[i] = succ.getWeight(k);
+			}
+		}
+		this.buildPredecessors();
+	}
+
+	/**
+	 * Builds the CSR form from an adjacency matrix, every non zero entry being an arc
+	 * weighted by its value.
+	 */
+	public AdjacencyArrayDirectedGraph(int[][] matrix) {
+		this.nbNodes = matrix.length;
+		this.succOffsets = new int[this.nbNodes + 1];
+		for (int u = 0; u < this.nbNodes; u++) {
+			int deg = 0;
+			for (int v = 0; v < matrix[u].length; v++) {
+				if (matrix[u][v] != 0) {
+					deg++;
+				}
+			}
+			this.succOffsets[u + 1] = this.succOffsets[u] + deg;
+		}
+		this.nbArcs = this.succOffsets[this.nbNodes];
+		this.succTargets = new int[this.nbArcs];
+		this.succWeights = new int[this.nbArcs];
+		for (int u = 0; u < this.nbNodes; u++) {
+			int i = this.succOffsets[u];
+			for (int v = 0; v < matrix[u].length; v++) {
+				if (matrix[u][v] != 0) {
+					this.succTargets[i] = v;
+					this.succWeights[i] = matrix[u][v];
+					i++;
+				}
+			}
+		}
+		this.buildPredecessors();
+	}
+
+	/**
+	 * Fills the transposed arrays with a counting sort of the arcs by destination.
+	 * The predecessors of a node are sorted by increasing origin.
+	 */
+	private void buildPredecessors() {
+		this.predOffsets = new int[this.nbNodes + 1];
+		this.predSources = new int[this.nbArcs];
+		this.predWeights = new int[this.nbArcs];
+		for (int i = 0; i < this.nbArcs; i++) {
+			this.predOffsets[this.succTargets[i] + 1]++;
+		}
+		for (int v = 0; v < this.nbNodes; v++) {
+			this.predOffsets[v + 1] += this.predOffsets[v];
+		}
+		int[] next = Arrays.copyOf(this.predOffsets, this.nbNodes);
+		for (int u = 0; u < this.nbNodes; u++) {
+			for (int i = this.succOffsets[u]; i < this.succOffsets[u + 1]; i++) {
+				int pos = next[this.succTargets[i]]++;
+				this.predSources[pos] = u;
+				this.predWeights[pos] = this.succWeights[i];
+			}
+		}
+	}
+
+	//--------------------------------------------------
+	// 					Accessors
+	//--------------------------------------------------
+
+	/**
+	 * @return the number of nodes in the graph
+	 */
+	public int getNbNodes() {
+		return this.nbNodes;
+	}
+
+	/**
+	 * @return the number of arcs in the graph
+	 */
+	public int getNbArcs() {
+		return this.nbArcs;
+	}
+
+	/**
+	 * @return the offsets of the successor arrays (size n+1), must not be modified
+	 */
+	public int[] getSuccOffsets() {
+		return this.succOffsets;
+	}
+
+	/**
+	 * @return the destinations of the arcs grouped by origin, must not be modified
+	 */
+	public int[] getSuccTargets() {
+		return this.succTargets;
+	}
+
+	/**
+	 * @return the weights of the arcs grouped by origin, must not be modified
+	 */
+	public int[] getSuccWeights() {
+		return this.succWeights;
+	}
+
+	/**
+	 * @return the offsets of the predecessor arrays (size n+1), must not be modified
+	 */
+	public int[] getPredOffsets() {
+		return this.predOffsets;
+	}
+
+	/**
+	 * @return the origins of the arcs grouped by destination, must not be modified
+	 */
+	public int[] getPredSources() {
+		return this.predSources;
+	}
+
+	/**
+	 * @return the weights of the arcs grouped by destination, must not be modified
+	 */
+	public int[] getPredWeights() {
+		return this.predWeights;
+	}
+
+	/**
+	 * @return the number of successors of u
+	 */
+	public int getNbSuccs(int u) {
+		return this.succOffsets[u + 1] - this.succOffsets[u];
+	}
+
+	/**
+	 * @return the number of predecessors of v
+	 */
+	public int getNbPreds(int v) {
+		return this.predOffsets[v + 1] - this.predOffsets[v];
+	}
+
+	/**
+	 * @param u the vertex selected
+	 * @return a copy of the successors of u
+	 */
+	public int[] getSuccessors(int u) {
+		return Arrays.copyOfRange(this.succTargets, this.succOffsets[u], this.succOffsets[u + 1]);
+	}
+
+	/**
+	 * @param v the vertex selected
+	 * @return a copy of the predecessors of v
+	 */
+	public int[] getPredecessors(int v) {
+		return Arrays.copyOfRange(this.predSources, this.predOffsets[v], this.predOffsets[v + 1]);
+	}
+
+	// ------------------------------------------------
+	// 					Methods
+	// ------------------------------------------------
+
+	/**
+	 * @return true if the arc (from,to) exists in the graph
+	 */
+	public boolean isArc(int from, int to) {
+		for (int i = this.succOffsets[from]; i < this.succOffsets[from + 1]; i++) {
+			if (this.succTargets[i] == to) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return the adjacency matrix representation int[][] of the graph
+	 */
+	public int[][] toAdjacencyMatrix() {
+		int[][] matrix = new int[this.nbNodes][this.nbNodes];
+		for (int u = 0; u < this.nbNodes; u++) {
+			for (int i = this.succOffsets[u]; i < this.succOffsets[u + 1]; i++) {
+				matrix[u][this.succTargets[i]] = this.succWeights[i];
+			}
+		}
+		return matrix;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder s = new StringBuilder("Compressed sparse rows: \n");
+		for (int u = 0; u < this.nbNodes; u++) {
+			s.append("n_").append(u).append(" : ");
+			for (int i = this.succOffsets[u]; i < this.succOffsets[u + 1]; i++) {
+				s.append("(n_").append(this.succTargets[i]);
+				if (this.succWeights[i] != 0) {
+					s.append(",").append(this.succWeights[i]);
+				}
+				s.append(")  ");
+			}
+			s.append("\n");
+		}
+		return s.toString();
+	}
+
+	public static void main(String[] args) {
+		int[][] matrixValued = GraphTools.generateValuedGraphData(10, false, false, true, false, 100001);
+		GraphTools.afficherMatrix(matrixValued);
+		AdjacencyListDirectedValuedGraph al = new AdjacencyListDirectedValuedGraph(matrixValued);
+		AdjacencyArrayDirectedGraph csr = new AdjacencyArrayDirectedGraph(al);
+		System.out.println(csr);
+		System.out.println("n = " + csr.getNbNodes() + "\nm = " + csr.getNbArcs());
+		System.out.println("Same matrix as the adjacency list ? "
+				+ Arrays.deepEquals(al.toAdjacencyMatrix(), csr.toAdjacencyMatrix()));
+		System.out.println("Predecessors of vertex 2 : " + Arrays.toString(csr.getPredecessors(2)));
+	}
+}
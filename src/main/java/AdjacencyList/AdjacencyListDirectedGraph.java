@@ -6,6 +6,7 @@ import java.util.List;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
 
+import Collection.LongIntHashMap;
 import GraphAlgorithms.GraphTools;
 import Nodes_Edges.Arc;
 import Nodes_Edges.DirectedNode;
@@ -22,6 +23,7 @@ public class AdjacencyListDirectedGraph {
     protected List<Arc> arcs; // list of the arcs in the graph
     protected int nbNodes; // number of nodes
     protected int nbArcs; // number of arcs
+    protected LongIntHashMap arcIndex; // position in the list arcs of each arc (from,to)
 
     // --------------------------------------------------
     // Constructors
@@ -32,6 +34,7 @@ public class AdjacencyListDirectedGraph {
         this.arcs = new ArrayList<Arc>();
         this.nbNodes = 0;
         this.nbArcs = 0;
+        this.arcIndex = new LongIntHashMap();
     }
 
     public AdjacencyListDirectedGraph(List<DirectedNode> nodes, List<Arc> arcs) {
@@ -39,6 +42,7 @@ public class AdjacencyListDirectedGraph {
         this.arcs = arcs;
         this.nbNodes = nodes.size();
         this.nbArcs = arcs.size();
+        this.indexArcs();
     }
 
     public AdjacencyListDirectedGraph(int[][] matrix) {
@@ -62,6 +66,7 @@ public class AdjacencyListDirectedGraph {
                 }
             }
         }
+        this.indexArcs();
     }
 
     public AdjacencyListDirectedGraph(AdjacencyListDirectedGraph g) {
@@ -76,14 +81,14 @@ public class AdjacencyListDirectedGraph {
         }
 
         for (Arc a1 : g.getArcs()) {
-            this.arcs.add(a1);
             DirectedNode new_n = this.getNodes().get(a1.getFirstNode().getLabel());
             DirectedNode other_n = this.getNodes().get(a1.getSecondNode().getLabel());
-            Arc a2 = new Arc(a1.getFirstNode(), a1.getSecondNode(), a1.getWeight());
+            Arc a2 = new Arc(new_n, other_n, a1.getWeight());
+            this.arcs.add(a2);
             new_n.addArc(a2);
             other_n.addArc(a2);
         }
-
+        this.indexArcs();
     }
 
     // ------------------------------------------
@@ -98,7 +103,8 @@ public class AdjacencyListDirectedGraph {
     }
 
     /**
-     * Returns the list of nodes in the graph
+     * Returns the list of arcs in the graph, it must be modified only through
+     * addArc and removeArc to keep the index of the arcs up to date
      */
     public List<Arc> getArcs() {
         return arcs;
@@ -122,23 +128,29 @@ public class AdjacencyListDirectedGraph {
      * @return true if arc (from,to) exists in the graph
      */
     public boolean isArc(DirectedNode from, DirectedNode to) {
-        return this.getArcs().stream().anyMatch(
-                a -> a.getFirstNode().equals(from) && a.getSecondNode().equals(to));
+        return this.arcIndex.containsKey(arcKey(from.getLabel(), to.getLabel()));
     }
 
     /**
      * Removes the arc (from,to), if it exists. And remove this arc and the inverse
-     * in the list of arcs from the two extremities (nodes)
+     * in the list of arcs from the two extremities (nodes).
+     * The last arc of the list "arcs" takes the place of the removed one.
      */
     public void removeArc(DirectedNode from, DirectedNode to) {
-        if (!this.isArc(from, to)) {
+        long key = arcKey(from.getLabel(), to.getLabel());
+        int pos = this.arcIndex.getOrDefault(key, -1);
+        if (pos < 0) {
             return;
         }
         this.nbArcs--;
-        this.arcs.removeIf(arc -> arc.getFirstNode().equals(from) && arc.getSecondNode().equals(to));
-        from.getArcPred().removeIf(arc -> arc.getSecondNode().equals(to));
-        to.getArcSucc().removeIf(arc -> arc.getFirstNode().equals(from));
-
+        this.arcIndex.remove(key);
+        Arc last = this.arcs.remove(this.arcs.size() - 1);
+        if (pos < this.arcs.size()) {
+            this.arcs.set(pos, last);
+            this.arcIndex.put(arcKey(last.getFirstNode().getLabel(), last.getSecondNode().getLabel()), pos);
+        }
+        this.getNodeOfList(from).getArcSucc().removeLabel(to.getLabel());
+        this.getNodeOfList(to).getArcPred().removeLabel(from.getLabel());
     }
 
     /**
@@ -153,21 +165,45 @@ public class AdjacencyListDirectedGraph {
     }
 
     public void addArc(DirectedNode from, DirectedNode to, int weight) {
-        Arc a = new Arc(from, to, weight);
-        if (this.isArc(from, to)) {
-            this.removeArc(from, to);
+        DirectedNode n1 = this.getNodeOfList(from);
+        DirectedNode n2 = this.getNodeOfList(to);
+        Arc a = new Arc(n1, n2, weight);
+        long key = arcKey(n1.getLabel(), n2.getLabel());
+        int pos = this.arcIndex.getOrDefault(key, -1);
+        if (pos >= 0) {
+            // Replace the cost if already exists
+            this.arcs.get(pos).setWeight(weight);
+        } else {
+            this.arcIndex.put(key, this.arcs.size());
+            this.arcs.add(a);
+            this.nbArcs++;
         }
-        this.arcs.add(a);
-        from.addArc(a);
-        to.addArc(a);
-        this.nbArcs++;
-        return;
+        n1.addArc(a);
+        n2.addArc(a);
     }
 
     // --------------------------------------------------
     // Methods
     // --------------------------------------------------
 
+    /**
+     * @return the key of the arc (from,to) in the index of the arcs
+     */
+    protected static long arcKey(int from, int to) {
+        return ((long) from << 32) | (to & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Rebuilds the index giving the position of each arc in the list "arcs"
+     */
+    protected void indexArcs() {
+        this.arcIndex = new LongIntHashMap(this.arcs.size());
+        for (int i = 0; i < this.arcs.size(); i++) {
+            Arc a = this.arcs.get(i);
+            this.arcIndex.put(arcKey(a.getFirstNode().getLabel(), a.getSecondNode().getLabel()), i);
+        }
+    }
+
     /**
      * @return the corresponding nodes in the list this.nodes
      */
@@ -31,7 +31,8 @@ public class AdjacencyListDirectedValuedGraph extends AdjacencyListDirectedGraph
                     this.nbArcs ++;
                 }
             }
-        }            	
+        }
+        this.indexArcs();
     }
 
     // ------------------------------------------
@@ -44,12 +45,7 @@ public class AdjacencyListDirectedValuedGraph extends AdjacencyListDirectedGraph
      * And adds this arc to the incident list of both extremities (nodes) and into the global list "arcs" of the graph.
      */
     public void addArc(DirectedNode from, DirectedNode to, int cost) {
-    	if (!isArc(from, to)) {
-			this.nbArcs++;
-		}
-        this.arcs.add(new Arc(from, to, cost));
-        from.addArc(new Arc(from, to, cost));
-        to.addArc(new Arc(from, to, cost));
+        super.addArc(from, to, cost);
     }
     
     
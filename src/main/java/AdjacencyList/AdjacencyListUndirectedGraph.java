@@ -128,8 +128,8 @@ public class AdjacencyListUndirectedGraph {
         if (this.edges.remove(e1) || this.edges.remove(e2)) {
             this.nbEdges--;
         }
-        x.getIncidentEdges().removeIf(e -> e.getSecondNode().equals(y));
-        y.getIncidentEdges().removeIf(e -> e.getSecondNode().equals(x));
+        this.getNodeOfList(x).getIncidentEdges().removeLabel(y.getLabel());
+        this.getNodeOfList(y).getIncidentEdges().removeLabel(x.getLabel());
 
     }
 
@@ -154,16 +154,9 @@ public class AdjacencyListUndirectedGraph {
         }
         // Replace the cost if already exists
         else {
-            for (Edge e : this.getNodeOfList(x).getIncidentEdges()) {
-                if (e.getSecondNode().equals(y) || e.getFirstNode().equals(y)) {
-                    e.setWeight(cost);
-                }
-            }
-            for (Edge e : this.getNodeOfList(y).getIncidentEdges()) {
-                if (e.getSecondNode().equals(x) || e.getFirstNode().equals(x)) {
-                    e.setWeight(cost);
-                }
-            }
+            Edge e2 = new Edge(this.getNodeOfList(x), this.getNodeOfList(y), cost);
+            this.getNodeOfList(x).addEdge(e2);
+            this.getNodeOfList(y).addEdge(e2);
         }
     }
 
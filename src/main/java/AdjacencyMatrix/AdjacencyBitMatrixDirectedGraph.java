@@ -0,0 +1,288 @@
+package AdjacencyMatrix;
+
+
+import GraphAlgorithms.GraphTools;
+import Nodes_Edges.Arc;
+import Nodes_Edges.DirectedNode;
+
+import java.util.Arrays;
+
+import AdjacencyList.AdjacencyListDirectedGraph;
+
+/**
+ * This class represents the unweighted directed graphs structured by an adjacency
+ * matrix packed in bits: the arc (u,v) is the bit (v % 64) of the word rows[u][v / 64].
+ * We consider only simple graph
+ */
+public class AdjacencyBitMatrixDirectedGraph {
+
+	//--------------------------------------------------
+	// 				Class variables
+	//--------------------------------------------------
+
+	protected int nbNodes;		// Number of vertices
+	protected int nbArcs;		// Number of arcs
+	protected int nbWords;		// Number of 64 bits words in a row
+	protected long[][] rows;	// The adjacency matrix, one bit per arc
+
+	//--------------------------------------------------
+	// 				Constructors
+	//--------------------------------------------------
+
+	public AdjacencyBitMatrixDirectedGraph() {
+		this(0);
+	}
+
+	/**
+	 * Builds a graph with nbNodes vertices and no arc
+	 */
+	public AdjacencyBitMatrixDirectedGraph(int nbNodes) {
+		this.nbNodes = nbNodes;
+		this.nbArcs = 0;
+		this.nbWords = (nbNodes + 63) >>> 6;
+		this.rows = new long[nbNodes][this.nbWords];
+	}
+
+	/**
+	 * Every non zero entry of mat is an arc
+	 */
+	public AdjacencyBitMatrixDirectedGraph(int[][] mat) {
+		this(mat.length);
+		for (int u = 0; u < this.nbNodes; u++) {
+			for (int v = 0; v < this.nbNodes; v++) {
+				if (mat[u][v] != 0) {
+					this.rows[u][v >>> 6] |= 1L << v;
+					this.nbArcs++;
+				}
+			}
+		}
+	}
+
+	public AdjacencyBitMatrixDirectedGraph(AdjacencyListDirectedGraph g) {
+		this(g.getNbNodes());
+		for (DirectedNode n : g.getNodes()) {
+			for (Arc a : n.getArcSucc()) {
+				this.addArc(n.getLabel(), a.getSecondNode().getLabel());
+			}
+		}
+	}
+
+	//--------------------------------------------------
+	// 					Accessors
+	//--------------------------------------------------
+
+	/**
+	 * Returns the number of nodes in the graph (referred to as the order of the graph)
+	 */
+	public int getNbNodes() {
+		return this.nbNodes;
+	}
+
+	/**
+	 * @return the number of arcs in the graph
+	 */
+	public int getNbArcs() {
+		return this.nbArcs;
+	}
+
+	/**
+	 * @return the words of the row of u, must not be modified
+	 */
+	public long[] getRow(int u) {
+		return this.rows[u];
+	}
+
+	/**
+	 * @param u the vertex selected
+	 * @return a list of vertices which are the successors of u
+	 */
+	public int[] getSuccessors(int u) {
+		return toVertices(this.rows[u]);
+	}
+
+	/**
+	 * @param v the vertex selected
+	 * @return a list of vertices which are the predecessors of v
+	 */
+	public int[] getPredecessors(int v) {
+		int word = v >>> 6;
+		long bit = 1L << v;
+		int[] pred = new int[this.nbNodes];
+		int size = 0;
+		for (int u = 0; u < this.nbNodes; u++) {
+			if ((this.rows[u][word] & bit) != 0) {
+				pred[size++] = u;
+			}
+		}
+		return Arrays.copyOf(pred, size);
+	}
+
+	// ------------------------------------------------
+	// 					Methods
+	// ------------------------------------------------
+
+	/**
+	 * @return true if the arc (from,to) exists in the graph.
+	 */
+	public boolean isArc(int from, int to) {
+		return (this.rows[from][to >>> 6] & (1L << to)) != 0;
+	}
+
+	/**
+	 * removes the arc (from,to) if there exists one between these nodes in the graph.
+	 */
+	public void removeArc(int from, int to) {
+		if (isArc(from, to)) {
+			this.nbArcs--;
+			this.rows[from][to >>> 6] &= ~(1L << to);
+		}
+	}
+
+	/**
+	 * Adds the arc (from,to).
+	 */
+	public void addArc(int from, int to) {
+		if (!isArc(from, to)) {
+			this.nbArcs++;
+			this.rows[from][to >>> 6] |= 1L << to;
+		}
+	}
+
+	/**
+	 * @return the number of common successors of u and v, 64 vertices at a time
+	 */
+	public int getNbCommonSuccessors(int u, int v) {
+		int count = 0;
+		for (int w = 0; w < this.nbWords; w++) {
+			count += Long.bitCount(this.rows[u][w] & this.rows[v][w]);
+		}
+		return count;
+	}
+
+	/**
+	 * @return the vertices which are successors of both u and v
+	 */
+	public int[] getSuccessorsIntersection(int u, int v) {
+		long[] words = new long[this.nbWords];
+		for (int w = 0; w < this.nbWords; w++) {
+			words[w] = this.rows[u][w] & this.rows[v][w];
+		}
+		return toVertices(words);
+	}
+
+	/**
+	 * @return the vertices which are successors of u or v
+	 */
+	public int[] getSuccessorsUnion(int u, int v) {
+		long[] words = new long[this.nbWords];
+		for (int w = 0; w < this.nbWords; w++) {
+			words[w] = this.rows[u][w] | this.rows[v][w];
+		}
+		return toVertices(words);
+	}
+
+	/**
+	 * @return a new graph which is the inverse graph of this, computed by
+	 *         transposing the matrix by blocks of 64x64 bits
+	 */
+	public AdjacencyBitMatrixDirectedGraph computeInverse() {
+		AdjacencyBitMatrixDirectedGraph inv = new AdjacencyBitMatrixDirectedGraph(this.nbNodes);
+		inv.nbArcs = this.nbArcs;
+		long[] block = new long[64];
+		for (int bi = 0; bi < this.nbWords; bi++) {
+			for (int bj = 0; bj < this.nbWords; bj++) {
+				int rowStart = bi << 6;
+				int rowEnd = Math.min(rowStart + 64, this.nbNodes);
+				Arrays.fill(block, 0L);
+				boolean empty = true;
+				for (int r = rowStart; r < rowEnd; r++) {
+					block[r - rowStart] = this.rows[r][bj];
+					empty &= block[r - rowStart] == 0;
+				}
+				if (empty) {
+					continue;
+				}
+				transpose(block);
+				int colStart = bj << 6;
+				int colEnd = Math.min(colStart + 64, this.nbNodes);
+				for (int c = colStart; c < colEnd; c++) {
+					inv.rows[c][bi] = block[c - colStart];
+				}
+			}
+		}
+		return inv;
+	}
+
+	/**
+	 * @return the adjacency matrix representation int[][] of the graph
+	 */
+	public int[][] toAdjacencyMatrix() {
+		int[][] matrix = new int[this.nbNodes][this.nbNodes];
+		for (int u = 0; u < this.nbNodes; u++) {
+			for (int v : getSuccessors(u)) {
+				matrix[u][v] = 1;
+			}
+		}
+		return matrix;
+	}
+
+	/**
+	 * @return the positions of the bits set in words, in increasing order
+	 */
+	protected static int[] toVertices(long[] words) {
+		int size = 0;
+		for (long word : words) {
+			size += Long.bitCount(word);
+		}
+		int[] vertices = new int[size];
+		int i = 0;
+		for (int w = 0; w < words.length; w++) {
+			long word = words[w];
+			while (word != 0) {
+				vertices[i++] = (w << 6) + Long.numberOfTrailingZeros(word);
+				word &= word - 1; // clears the lowest bit set
+			}
+		}
+		return vertices;
+	}
+
+	/**
+	 * Transposes in place a 64x64 bits block (bit c of block[r] goes to bit r of
+	 * block[c]) by swapping sub-blocks of size 32, 16, ..., 1.
+	 */
+	protected static void transpose(long[] block) {
+		long mask = 0x00000000FFFFFFFFL;
+		for (int j = 32; j != 0; j >>>= 1, mask ^= mask << j) {
+			for (int k = 0; k < 64; k = ((k | j) + 1) & ~j) {
+				long t = ((block[k] >>> j) ^ block[k | j]) & mask;
+				block[k] ^= t << j;
+				block[k | j] ^= t;
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder s = new StringBuilder("Adjacency Bit Matrix: \n");
+		for (int u = 0; u < this.nbNodes; u++) {
+			for (int v = 0; v < this.nbNodes; v++) {
+				s.append(isArc(u, v) ? 1 : 0).append("\t");
+			}
+			s.append("\n");
+		}
+		s.append("\n");
+		return s.toString();
+	}
+
+	public static void main(String[] args) {
+		int[][] matrix2 = GraphTools.generateGraphData(10, 20, false, false, false, 100001);
+		AdjacencyBitMatrixDirectedGraph am = new AdjacencyBitMatrixDirectedGraph(matrix2);
+		System.out.println(am);
+		System.out.println("n = " + am.getNbNodes() + "\nm = " + am.getNbArcs() + "\n");
+		System.out.println("Sucesssors of vertex 1 : " + Arrays.toString(am.getSuccessors(1)));
+		System.out.println("Predecessors of vertex 2 : " + Arrays.toString(am.getPredecessors(2)));
+		System.out.println("Common successors of 1 and 2 : " + Arrays.toString(am.getSuccessorsIntersection(1, 2)));
+		System.out.println("Inverse graph :");
+		System.out.println(am.computeInverse());
+	}
+}
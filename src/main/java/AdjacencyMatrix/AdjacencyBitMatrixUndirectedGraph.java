@@ -0,0 +1,200 @@
+package AdjacencyMatrix;
+
+
+import GraphAlgorithms.GraphTools;
+import Nodes_Edges.Edge;
+
+import java.util.Arrays;
+
+import AdjacencyList.AdjacencyListUndirectedGraph;
+
+/**
+ * This class represents the unweighted undirected graphs structured by an adjacency
+ * matrix packed in bits: the edge (x,y) is both the bit (y % 64) of rows[x][y / 64]
+ * and the bit (x % 64) of rows[y][x / 64].
+ * We consider only simple graph
+ */
+public class AdjacencyBitMatrixUndirectedGraph {
+
+	//--------------------------------------------------
+	// 				Class variables
+	//--------------------------------------------------
+
+	protected int nbNodes;		// Number of vertices
+	protected int nbEdges;		// Number of edges
+	protected int nbWords;		// Number of 64 bits words in a row
+	protected long[][] rows;	// The adjacency matrix, one bit per edge extremity
+
+	//--------------------------------------------------
+	// 				Constructors
+	//--------------------------------------------------
+
+	public AdjacencyBitMatrixUndirectedGraph() {
+		this(0);
+	}
+
+	/**
+	 * Builds a graph with nbNodes vertices and no edge
+	 */
+	public AdjacencyBitMatrixUndirectedGraph(int nbNodes) {
+		this.nbNodes = nbNodes;
+		this.nbEdges = 0;
+		this.nbWords = (nbNodes + 63) >>> 6;
+		this.rows = new long[nbNodes][this.nbWords];
+	}
+
+	/**
+	 * Every non zero entry of the upper triangle of mat is an edge
+	 */
+	public AdjacencyBitMatrixUndirectedGraph(int[][] mat) {
+		this(mat.length);
+		for (int x = 0; x < this.nbNodes; x++) {
+			for (int y = x; y < this.nbNodes; y++) {
+				if (mat[x][y] != 0) {
+					this.addEdge(x, y);
+				}
+			}
+		}
+	}
+
+	public AdjacencyBitMatrixUndirectedGraph(AdjacencyListUndirectedGraph g) {
+		this(g.getNbNodes());
+		for (Edge e : g.getEdges()) {
+			this.addEdge(e.getFirstNode().getLabel(), e.getSecondNode().getLabel());
+		}
+	}
+
+	//--------------------------------------------------
+	// 					Accessors
+	//--------------------------------------------------
+
+	/**
+	 * @return the number of nodes in the graph (referred to as the order of the graph)
+	 */
+	public int getNbNodes() {
+		return this.nbNodes;
+	}
+
+	/**
+	 * @return the number of edges in the graph
+	 */
+	public int getNbEdges() {
+		return this.nbEdges;
+	}
+
+	/**
+	 * @return the words of the row of v, must not be modified
+	 */
+	public long[] getRow(int v) {
+		return this.rows[v];
+	}
+
+	/**
+	 * @param v the vertex selected
+	 * @return a list of vertices which are the neighbours of v
+	 */
+	public int[] getNeighbours(int v) {
+		return AdjacencyBitMatrixDirectedGraph.toVertices(this.rows[v]);
+	}
+
+	// ------------------------------------------------
+	// 					Methods
+	// ------------------------------------------------
+
+	/**
+	 * @return true if the edge is in the graph.
+	 */
+	public boolean isEdge(int x, int y) {
+		return (this.rows[x][y >>> 6] & (1L << y)) != 0;
+	}
+
+	/**
+	 * removes the edge (x,y) if there exists one between these nodes in the graph.
+	 */
+	public void removeEdge(int x, int y) {
+		if (isEdge(x, y)) {
+			this.nbEdges--;
+			this.rows[x][y >>> 6] &= ~(1L << y);
+			this.rows[y][x >>> 6] &= ~(1L << x);
+		}
+	}
+
+	/**
+	 * adds the edge (x,y) if there is not already one.
+	 */
+	public void addEdge(int x, int y) {
+		if (!isEdge(x, y)) {
+			this.nbEdges++;
+			this.rows[x][y >>> 6] |= 1L << y;
+			this.rows[y][x >>> 6] |= 1L << x;
+		}
+	}
+
+	/**
+	 * @return the number of common neighbours of x and y, 64 vertices at a time
+	 */
+	public int getNbCommonNeighbours(int x, int y) {
+		int count = 0;
+		for (int w = 0; w < this.nbWords; w++) {
+			count += Long.bitCount(this.rows[x][w] & this.rows[y][w]);
+		}
+		return count;
+	}
+
+	/**
+	 * @return the vertices which are neighbours of both x and y
+	 */
+	public int[] getNeighboursIntersection(int x, int y) {
+		long[] words = new long[this.nbWords];
+		for (int w = 0; w < this.nbWords; w++) {
+			words[w] = this.rows[x][w] & this.rows[y][w];
+		}
+		return AdjacencyBitMatrixDirectedGraph.toVertices(words);
+	}
+
+	/**
+	 * @return the vertices which are neighbours of x or y
+	 */
+	public int[] getNeighboursUnion(int x, int y) {
+		long[] words = new long[this.nbWords];
+		for (int w = 0; w < this.nbWords; w++) {
+			words[w] = this.rows[x][w] | this.rows[y][w];
+		}
+		return AdjacencyBitMatrixDirectedGraph.toVertices(words);
+	}
+
+	/**
+	 * @return the adjacency matrix representation int[][] of the graph
+	 */
+	public int[][] toAdjacencyMatrix() {
+		int[][] matrix = new int[this.nbNodes][this.nbNodes];
+		for (int x = 0; x < this.nbNodes; x++) {
+			for (int y : getNeighbours(x)) {
+				matrix[x][y] = 1;
+			}
+		}
+		return matrix;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder s = new StringBuilder("\nAdjacency Bit Matrix: \n");
+		for (int x = 0; x < this.nbNodes; x++) {
+			for (int y = 0; y < this.nbNodes; y++) {
+				s.append(isEdge(x, y) ? 1 : 0).append("\t");
+			}
+			s.append("\n");
+		}
+		s.append("\n");
+		return s.toString();
+	}
+
+	public static void main(String[] args) {
+		int[][] mat = GraphTools.generateGraphData(10, 20, false, true, false, 100001);
+		AdjacencyBitMatrixUndirectedGraph am = new AdjacencyBitMatrixUndirectedGraph(mat);
+		System.out.println(am);
+		System.out.println("n = " + am.getNbNodes() + "\nm = " + am.getNbEdges() + "\n");
+		System.out.println("Neighbours of vertex 2 : " + Arrays.toString(am.getNeighbours(2)));
+		System.out.println("Common neighbours of 2 and 5 : " + Arrays.toString(am.getNeighboursIntersection(2, 5)));
+	}
+}
@@ -0,0 +1,212 @@
+package AdjacencyMatrix;
+
+
+import GraphAlgorithms.GraphTools;
+import Nodes_Edges.Edge;
+
+import java.util.Arrays;
+
+import AdjacencyList.AdjacencyListUndirectedGraph;
+
+/**
+ * This class represents the undirected graphs structured by an adjacency matrix of
+ * which only the upper triangle (diagonal included) is kept, packed row by row in a
+ * single array of n(n+1)/2 entries: the entry (x,y) with x <= y is at index
+ * x*n - x(x+1)/2 + y. The entries are the costs of the edges, 0 when there is no edge.
+ * We consider only simple graph
+ */
+public class AdjacencyPackedMatrixUndirectedGraph {
+
+	//--------------------------------------------------
+	// 				Class variables
+	//--------------------------------------------------
+
+	protected int nbNodes;		// Number of vertices
+	protected int nbEdges;		// Number of edges
+	protected int[] packed;		// The upper triangle of the adjacency matrix
+
+	//--------------------------------------------------
+	// 				Constructors
+	//--------------------------------------------------
+
+	public AdjacencyPackedMatrixUndirectedGraph() {
+		this(0);
+	}
+
+	/**
+	 * Builds a graph with nbNodes vertices and no edge
+	 */
+	public AdjacencyPackedMatrixUndirectedGraph(int nbNodes) {
+		long size = (long) nbNodes * (nbNodes + 1) / 2;
+		if (size > Integer.MAX_VALUE - 8) {
+			throw new IllegalArgumentException("Too many nodes for a packed matrix: " + nbNodes);
+		}
+		this.nbNodes = nbNodes;
+		this.nbEdges = 0;
+		this.packed = new int[(int) size];
+	}
+
+	/**
+	 * Only the upper triangle of mat is read, every non zero entry is an edge
+	 */
+	public AdjacencyPackedMatrixUndirectedGraph(int[][] mat) {
+		this(mat.length);
+		int k = 0;
+		for (int x = 0; x < this.nbNodes; x++) {
+			for (int y = x; y < this.nbNodes; y++) {
+				this.packed[k++] = mat[x][y];
+				if (mat[x][y] != 0) {
+					this.nbEdges++;
+				}
+			}
+		}
+	}
+
+	public AdjacencyPackedMatrixUndirectedGraph(AdjacencyListUndirectedGraph g) {
+		this(g.getNbNodes());
+		for (Edge e : g.getEdges()) {
+			this.addEdge(e.getFirstNode().getLabel(), e.getSecondNode().getLabel(),
+					e.getWeight() == 0 ? 1 : e.getWeight());
+		}
+	}
+
+	//--------------------------------------------------
+	// 					Accessors
+	//--------------------------------------------------
+
+	/**
+	 * @return the number of nodes in the graph (referred to as the order of the graph)
+	 */
+	public int getNbNodes() {
+		return this.nbNodes;
+	}
+
+	/**
+	 * @return the number of edges in the graph
+	 */
+	public int getNbEdges() {
+		return this.nbEdges;
+	}
+
+	/**
+	 * @return the cost of the edge (x,y), 0 if there is no edge
+	 */
+	public int getCost(int x, int y) {
+		return this.packed[index(x, y)];
+	}
+
+	/**
+	 * @param v the vertex selected
+	 * @return a list of vertices which are the neighbours of v
+	 */
+	public int[] getNeighbours(int v) {
+		int[] neigh = new int[this.nbNodes];
+		int size = 0;
+		// column v above the diagonal, then row v from the diagonal
+		for (int x = 0; x < v; x++) {
+			if (this.packed[index(x, v)] != 0) {
+				neigh[size++] = x;
+			}
+		}
+		int start = index(v, v) - v;
+		for (int y = v; y < this.nbNodes; y++) {
+			if (this.packed[start + y] != 0) {
+				neigh[size++] = y;
+			}
+		}
+		return Arrays.copyOf(neigh, size);
+	}
+
+	// ------------------------------------------------
+	// 					Methods
+	// ------------------------------------------------
+
+	/**
+	 * @return the position of the entry (x,y) in the packed array
+	 */
+	protected int index(int x, int y) {
+		if (x > y) {
+			int t = x;
+			x = y;
+			y = t;
+		}
+		return (int) ((long) x * this.nbNodes - (long) x * (x + 1) / 2 + y);
+	}
+
+	/**
+	 * @return true if the edge is in the graph.
+	 */
+	public boolean isEdge(int x, int y) {
+		return this.packed[index(x, y)] != 0;
+	}
+
+	/**
+	 * removes the edge (x,y) if there exists one between these nodes in the graph.
+	 */
+	public void removeEdge(int x, int y) {
+		int i = index(x, y);
+		if (this.packed[i] != 0) {
+			this.nbEdges--;
+			this.packed[i] = 0;
+		}
+	}
+
+	/**
+	 * adds the edge (x,y) if there is not already one.
+	 */
+	public void addEdge(int x, int y) {
+		if (!isEdge(x, y)) {
+			this.addEdge(x, y, 1);
+		}
+	}
+
+	/**
+	 * adds the edge (x,y,cost). If there is already one initial cost, we replace it.
+	 */
+	public void addEdge(int x, int y, int cost) {
+		int i = index(x, y);
+		if (this.packed[i] == 0 && cost != 0) {
+			this.nbEdges++;
+		} else if (this.packed[i] != 0 && cost == 0) {
+			this.nbEdges--;
+		}
+		this.packed[i] = cost;
+	}
+
+	/**
+	 * @return the adjacency matrix representation int[][] of the graph
+	 */
+	public int[][] toAdjacencyMatrix() {
+		int[][] matrix = new int[this.nbNodes][this.nbNodes];
+		int k = 0;
+		for (int x = 0; x < this.nbNodes; x++) {
+			for (int y = x; y < this.nbNodes; y++) {
+				matrix[x][y] = this.packed[k];
+				matrix[y][x] = this.packed[k];
+				k++;
+			}
+		}
+		return matrix;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder s = new StringBuilder("\nPacked Adjacency Matrix: \n");
+		for (int x = 0; x < this.nbNodes; x++) {
+			for (int y = 0; y < this.nbNodes; y++) {
+				s.append(getCost(x, y)).append("\t");
+			}
+			s.append("\n");
+		}
+		s.append("\n");
+		return s.toString();
+	}
+
+	public static void main(String[] args) {
+		int[][] matrixValued = GraphTools.generateValuedGraphData(10, false, true, true, false, 100001);
+		AdjacencyPackedMatrixUndirectedGraph am = new AdjacencyPackedMatrixUndirectedGraph(matrixValued);
+		System.out.println(am);
+		System.out.println("n = " + am.getNbNodes() + "\nm = " + am.getNbEdges() + "\n");
+		System.out.println("Neighbours of vertex 2 : " + Arrays.toString(am.getNeighbours(2)));
+	}
+}
@@ -0,0 +1,142 @@
+package Collection;
+
+import java.util.Arrays;
+
+/**
+ * A map from long keys to int values without boxing, by open addressing with
+ * linear probing. A removal shifts back the entries of the same probe sequence,
+ * so there is no tombstone. Long.MIN_VALUE is reserved to mark the free slots and
+ * cannot be used as a key.
+ */
+public class LongIntHashMap {
+
+	private static final long FREE = Long.MIN_VALUE;
+
+	private long[] keys;
+	private int[] values;
+	private int mask;
+	private int size;
+
+	public LongIntHashMap() {
+		this(16);
+	}
+
+	public LongIntHashMap(int expectedSize) {
+		int capacity = 16;
+		while (capacity * 3 < expectedSize * 4) {
+			capacity <<= 1;
+		}
+		this.allocate(capacity);
+	}
+
+	private void allocate(int capacity) {
+		this.keys = new long[capacity];
+		Arrays.fill(this.keys, FREE);
+		this.values = new int[capacity];
+		this.mask = capacity - 1;
+		this.size = 0;
+	}
+
+	public int size() {
+		return this.size;
+	}
+
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	/**
+	 * @return the index of the slot where the key is, or of the free slot ending its
+	 *         probe sequence
+	 */
+	private int slot(long key) {
+		long h = key * 0x9E3779B97F4A7C15L;
+		int i = (int) (h ^ (h >>> 32)) & this.mask;
+		while (this.keys[i] != FREE && this.keys[i] != key) {
+			i = (i + 1) & this.mask;
+		}
+		return i;
+	}
+
+	public boolean containsKey(long key) {
+		return this.keys[slot(key)] == key;
+	}
+
+	/**
+	 * @return the value associated to key, or defaultValue if there is none
+	 */
+	public int getOrDefault(long key, int defaultValue) {
+		int i = slot(key);
+		return this.keys[i] == key ? this.values[i] : defaultValue;
+	}
+
+	/**
+	 * Associates value to key, replacing the previous value if any
+	 */
+	public void put(long key, int value) {
+		if (key == FREE) {
+			throw new IllegalArgumentException("Reserved key " + key);
+		}
+		int i = slot(key);
+		if (this.keys[i] != key) {
+			if ((this.size + 1) * 4 > this.keys.length * 3) {
+				this.grow();
+				i = slot(key);
+			}
+			this.keys[i] = key;
+			this.size++;
+		}
+		this.values[i] = value;
+	}
+
+	/**
+	 * Removes the key and its value
+	 *
+	 * @return true if the key was in the map
+	 */
+	public boolean remove(long key) {
+		int i = slot(key);
+		if (this.keys[i] != key) {
+			return false;
+		}
+		int j = i;
+		while (true) {
+			j = (j + 1) & this.mask;
+			if (this.keys[j] == FREE) {
+				break;
+			}
+			long h = this.keys[j] * 0x9E3779B97F4A7C15L;
+			int home = (int) (h ^ (h >>> 32)) & this.mask;
+			// the entry stays if its home slot is cyclically in (i, j]
+			if (i <= j ? (i < home && home <= j) : (i < home || home <= j)) {
+				continue;
+			}
+			this.keys[i] = this.keys[j];
+			this.values[i] = this.values[j];
+			i = j;
+		}
+		this.keys[i] = FREE;
+		this.size--;
+		return true;
+	}
+
+	public void clear() {
+		Arrays.fill(this.keys, FREE);
+		this.size = 0;
+	}
+
+	private void grow() {
+		long[] oldKeys = this.keys;
+		int[] oldValues = this.values;
+		this.allocate(oldKeys.length << 1);
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldKeys[i] != FREE) {
+				int j = slot(oldKeys[i]);
+				this.keys[j] = oldKeys[i];
+				this.values[j] = oldValues[i];
+				this.size++;
+			}
+		}
+	}
+
+}
@@ -0,0 +1,277 @@
+package GraphAlgorithms;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import AdjacencyArray.AdjacencyArrayDirectedGraph;
+import AdjacencyList.AdjacencyListDirectedValuedGraph;
+import Nodes_Edges.DirectedNode;
+
+/**
+ * Single source shortest paths with negative weights, on the compressed sparse row
+ * form. When a cycle of negative weight is reachable from the source there are no
+ * shortest paths: the result then holds such a cycle (ShortestPathTree.getNegativeCycle).
+ * Every cycle of the graph of the parents has a negative weight, and such a cycle
+ * appears after a finite number of relaxations when a negative cycle is reachable.
+ */
+public class BellmanFord {
+
+	private static final long INF = ShortestPathTree.UNREACHABLE;
+
+	/**
+	 * Bellman-Ford with a queue (SPFA): only the successors of a node whose distance
+	 * was lowered are relaxed again, and the search stops when the queue is empty.
+	 * The queue is a double-ended circular array with two heuristics:
+	 * Small Label First, a node entering the queue with a distance lower than the one
+	 * of the front goes to the front, and Large Label Last, a front whose distance is
+	 * greater than the average of the queue goes to the back.
+	 * Each node keeps the number of arcs of its path: when it reaches n, the path goes
+	 * twice through a node and a negative cycle exists, which is then searched in the
+	 * graph of the parents, at most once every n relaxations.
+	 * O(nm) in the worst case, close to O(m) on most graphs.
+	 */
+	public static ShortestPathTree spfa(AdjacencyArrayDirectedGraph graph, int source) {
+		int n = graph.getNbNodes();
+		long[] distances = new long[n];
+		int[] parents = new int[n];
+		Arrays.fill(distances, INF);
+		Arrays.fill(parents, -1);
+		distances[source] = 0;
+		int[] cycle = spfa(graph, distances, parents);
+		if (cycle != null) {
+			return new ShortestPathTree(source, distances, parents, cycle);
+		}
+		parents[source] = source;
+		return new ShortestPathTree(source, distances, parents);
+	}
+
+	/**
+	 * Potentials of Johnson's reweighting: the distances from a virtual node having an
+	 * arc of weight 0 to every node, so that w(u, v) + p(u) - p(v) is non negative for
+	 * every arc. Computed by SPFA with every node at distance 0 in the queue.
+	 *
+	 * @return the potentials, all non positive
+	 * @throws IllegalArgumentException if the graph has a cycle of negative weight
+	 */
+	public static long[] potentials(AdjacencyArrayDirectedGraph graph) {
+		int n = graph.getNbNodes();
+		long[] distances = new long[n];
+		int[] parents = new int[n];
+		Arrays.fill(parents, -1);
+		int[] cycle = spfa(graph, distances, parents);
+		if (cycle != null) {
+			throw new IllegalArgumentException("Cycle of negative weight " + Arrays.toString(cycle));
+		}
+		return distances;
+	}
+
+	/**
+	 * SPFA from every node of finite distance, the arrays being updated in place
+	 *
+	 * @return a cycle of negative weight, null if there is none
+	 */
+	private static int[] spfa(AdjacencyArrayDirectedGraph graph, long[] distances, int[] parents) {
+		int n = graph.getNbNodes();
+		int[] offsets = graph.getSuccOffsets();
+		int[] targets = graph.getSuccTargets();
+		int[] weights = graph.getSuccWeights();
+		int[] lengths = new int[n];		// nombre d'arcs du chemin trouvé
+		boolean[] inQueue = new boolean[n];
+		int[] queue = new int[n];	// chaque noeud y est au plus une fois
+		int head = 0;
+		int size = 0;
+		long sum = 0;	// somme des distances des noeuds de la file
+		long nbRelaxations = 0;
+		long nextCheck = 0;
+		for (int v = 0; v < n; v++) {
+			if (distances[v] != INF) {
+				queue[size++] = v;
+				inQueue[v] = true;
+				sum += distances[v];
+			}
+		}
+		while (size > 0) {
+			// LLL : le premier noeud passe à la fin tant qu'il dépasse la moyenne
+			long average = Math.floorDiv(sum, size);
+			for (int k = 1; k < size && distances[queue[head]] > average; k++) {
+				queue[(head + size) % n] = queue[head];
+				head = (head + 1) % n;
+			}
+			int node = queue[head];
+			head = (head + 1) % n;
+			size--;
+			inQueue[node] = false;
+			sum -= distances[node];
+			for (int i = offsets[node]; i < offsets[node + 1]; i++) {
+				int succ = targets[i];
+				long newDistance = distances[node] + weights[i];
+				if (newDistance >= distances[succ]) {
+					continue;
+				}
+				if (inQueue[succ]) {
+					sum -= distances[succ] - newDistance;
+				}
+				distances[succ] = newDistance;
+				parents[succ] = node;
+				lengths[succ] = lengths[node] + 1;
+				nbRelaxations++;
+				if (lengths[succ] >= n && nbRelaxations >= nextCheck) {
+					int[] cycle = parentCycle(parents);
+					if (cycle != null) {
+						return cycle;
+					}
+					nextCheck = nbRelaxations + n;
+				}
+				if (!inQueue[succ]) {
+					// SLF : devant si plus proche que le premier noeud
+					if (size > 0 && newDistance < distances[queue[head]]) {
+						head = (head + n - 1) % n;
+						queue[head] = succ;
+					} else {
+						queue[(head + size) % n] = succ;
+					}
+					size++;
+					sum += newDistance;
+					inQueue[succ] = true;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * SPFA on an adjacency list, through its compressed sparse row form
+	 */
+	public static ShortestPathTree spfa(AdjacencyListDirectedValuedGraph graph, DirectedNode source) {
+		return spfa(new AdjacencyArrayDirectedGraph(graph), source.getLabel());
+	}
+
+	/**
+	 * Bellman-Ford by rounds on the common fork-join pool
+	 */
+	public static ShortestPathTree parallel(AdjacencyArrayDirectedGraph graph, int source) {
+		return parallel(graph, source, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Bellman-Ford by rounds, suited to dense graphs: in each round every node takes in
+	 * parallel the best distance offered by its predecessors in the previous round, so
+	 * that the nodes write only their own entries. After round k the distances are the
+	 * ones of the paths of at most k arcs: the rounds stop when nothing changes, and a
+	 * change in round n means a negative cycle. O(nm) work, O(m/p) per round.
+	 */
+	public static ShortestPathTree parallel(AdjacencyArrayDirectedGraph graph, int source, ForkJoinPool pool) {
+		int n = graph.getNbNodes();
+		int[] offsets = graph.getPredOffsets();
+		int[] sources = graph.getPredSources();
+		int[] weights = graph.getPredWeights();
+		long[][] rounds = { new long[n], new long[n] };
+		int[] parents = new int[n];
+		Arrays.fill(rounds[0], INF);
+		Arrays.fill(parents, -1);
+		rounds[0][source] = 0;
+		long[] distances = rounds[0];
+		boolean changed = true;
+		for (int round = 1; round <= n && changed; round++) {
+			long[] current = rounds[(round + 1) % 2];
+			long[] next = rounds[round % 2];
+			int nbChanged = pool.submit(() -> IntStream.range(0, n).parallel().map(v -> {
+				long best = current[v];
+				int parent = -1;
+				for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+					long d = current[sources[i]];
+					if (d != INF && d + weights[i] < best) {
+						best = d + weights[i];
+						parent = sources[i];
+					}
+				}
+				next[v] = best;
+				if (parent >= 0) {
+					parents[v] = parent;
+					return 1;
+				}
+				return 0;
+			}).sum()).join();
+			changed = nbChanged > 0;
+			distances = next;
+		}
+		if (changed) {
+			// Encore des changements au tour n : il existe un cycle de poids négatif
+			int[] cycle = parentCycle(parents);
+			return cycle != null ? new ShortestPathTree(source, distances, parents, cycle) : spfa(graph, source);
+		}
+		parents[source] = source;
+		return new ShortestPathTree(source, distances, parents);
+	}
+
+	/**
+	 * Parallel Bellman-Ford on an adjacency list, through its compressed sparse row
+	 * form
+	 */
+	public static ShortestPathTree parallel(AdjacencyListDirectedValuedGraph graph, DirectedNode source) {
+		return parallel(new AdjacencyArrayDirectedGraph(graph), source.getLabel());
+	}
+
+	/**
+	 * Searches a cycle in the graph of the parents, each node being walked through
+	 * once: O(n).
+	 *
+	 * @return the nodes of the cycle in the order of its arcs, null if there is none
+	 */
+	private static int[] parentCycle(int[] parents) {
+		int n = parents.length;
+		int[] stamps = new int[n];	// 0 : pas vu, sinon numéro du départ + 1
+		for (int start = 0; start < n; start++) {
+			int u = start;
+			while (u >= 0 && stamps[u] == 0) {
+				stamps[u] = start + 1;
+				u = parents[u];
+			}
+			if (u >= 0 && stamps[u] == start + 1) {
+				// u est sur un cycle découvert par ce départ
+				int length = 1;
+				for (int w = parents[u]; w != u; w = parents[w]) {
+					length++;
+				}
+				int[] cycle = new int[length];
+				int w = u;
+				for (int k = length - 1; k >= 0; k--) {
+					cycle[k] = w;
+					w = parents[w];
+				}
+				return cycle;
+			}
+		}
+		return null;
+	}
+
+	public static void main(String[] args) {
+		int[][] matrix = GraphTools.generateValuedGraphData(10, false, false, true, true, 100001);
+		GraphTools.afficherMatrix(matrix);
+		AdjacencyArrayDirectedGraph small = new AdjacencyArrayDirectedGraph(matrix);
+		ShortestPathTree tree = spfa(small, 0);
+		System.out.println(tree);
+		System.out.println("Même résultat par tours ? " + tree.equals(parallel(small, 0)));
+
+		// Poids positifs : mêmes distances que Dijkstra
+		int[][] positive = GraphTools.generateValuedGraphData(300, false, false, true, false, 100001);
+		AdjacencyArrayDirectedGraph csr = new AdjacencyArrayDirectedGraph(positive);
+		long[] expected = GraphToolsList.dijkstra(csr, 0).getDistances();
+		System.out.println("Mêmes distances que Dijkstra ? " + Arrays.equals(expected, spfa(csr, 0).getDistances())
+				+ " " + Arrays.equals(expected, parallel(csr, 0).getDistances()));
+
+		// Un circuit 1 -> 2 -> 3 -> 1 de poids -1
+		int[][] cycle = new int[5][5];
+		cycle[0][1] = 4;
+		cycle[1][2] = 2;
+		cycle[2][3] = -5;
+		cycle[3][1] = 2;
+		cycle[3][4] = 1;
+		ShortestPathTree negative = spfa(new AdjacencyArrayDirectedGraph(cycle), 0);
+		System.out.println("Cycle négatif : " + Arrays.toString(negative.getNegativeCycle()));
+		System.out.println("Par tours : "
+				+ Arrays.toString(parallel(new AdjacencyArrayDirectedGraph(cycle), 0).getNegativeCycle()));
+	}
+
+}
@@ -10,6 +10,7 @@ import AdjacencyList.AdjacencyListUndirectedGraph;
 import AdjacencyList.AdjacencyListUndirectedValuedGraph;
 import Nodes_Edges.DirectedNode;
 import Nodes_Edges.Edge;
+import Nodes_Edges.NeighbourList;
 import Nodes_Edges.UndirectedNode;
 
 public class BinaryHeapEdge {
@@ -109,17 +110,8 @@ public class BinaryHeapEdge {
 	 * @param child  an index of the list edges
 	 */
 	private void swap(int father, int child) {
-		Edge fatherEdge = binh.get(father);
-		Edge childEdge = binh.get(child);
-		Edge temp = new Edge(fatherEdge.getFirstNode(), fatherEdge.getSecondNode(), fatherEdge.getWeight());
-
-		fatherEdge.setFirstNode(childEdge.getFirstNode());
-		fatherEdge.setSecondNode(childEdge.getSecondNode());
-		fatherEdge.setWeight(childEdge.getWeight());
-
-		childEdge.setFirstNode(temp.getFirstNode());
-		childEdge.setSecondNode(temp.getSecondNode());
-		childEdge.setWeight(temp.getWeight());
+		// Only the references are exchanged: the edges may be shared with a graph
+		Collections.swap(binh, father, child);
 	}
 
 	/**
@@ -167,30 +159,46 @@ public class BinaryHeapEdge {
 		System.out.println("");
 	}
 
+	/**
+	 * Lazy Prim from node 0: every edge leaving the tree is pushed in a
+	 * PackedEdgeHeap, and the edges whose both extremities are already in the tree
+	 * are skipped when removed. The neighbours are read from the int arrays of the
+	 * incidence lists, so that only the edges of the tree are created.
+	 * SpanningForest.prim is the eager version with an indexed heap.
+	 *
+	 * @return the edges of the minimum spanning tree of the component of node 0
+	 */
 	public static List<Edge> prim(AdjacencyListUndirectedGraph graph) {
-		BinaryHeapEdge heap = new BinaryHeapEdge();
 		List<UndirectedNode> nodes = graph.getNodes();
+		int n = nodes.size();
 		List<Edge> mstEdges = new ArrayList<>();
-		List<Boolean> inMST = new ArrayList<>(Collections.nCopies(nodes.size(), false));
-		inMST.set(0, true);
-		for (Edge edge : nodes.get(0).getIncidentEdges()) {
-			heap.insert(edge.getFirstNode(), edge.getSecondNode(), edge.getWeight());
+		if (n == 0) {
+			return mstEdges;
+		}
+		PackedEdgeHeap heap = new PackedEdgeHeap(Math.max(16, graph.getNbEdges()), 4);
+		boolean[] inMST = new boolean[n];
+		inMST[0] = true;
+		int nbInMST = 1;
+		NeighbourList<Edge> incident = nodes.get(0).getIncidentEdges();
+		for (int i = 0; i < incident.size(); i++) {
+			heap.insert(0, incident.getLabel(i), incident.getWeight(i));
 		}
-		while (inMST.contains(false) && !heap.isEmpty()) {
-			Edge minEdge = heap.remove();
-			if (inMST.get(minEdge.getFirstNode().getLabel()) &&
-					inMST.get(minEdge.getSecondNode().getLabel())) {
+		while (nbInMST < n && !heap.isEmpty()) {
+			int from = heap.getMinFirst();
+			int to = heap.getMinSecond();
+			int weight = heap.getMinWeight();
+			heap.removeMin();
+			if (inMST[to]) {
 				continue; // both nodes are already in the MST, this would create a cycle
 			}
-			UndirectedNode newNode = inMST.get(minEdge.getFirstNode().getLabel())
-					? minEdge.getSecondNode()
-					: minEdge.getFirstNode();
-			inMST.set(newNode.getLabel(), true);
-			mstEdges.add(minEdge);
-			for (Edge edge : newNode.getIncidentEdges()) {
-				if (!inMST.get(edge.getFirstNode().getLabel()) || !inMST.get(edge.getSecondNode().getLabel())) {
+			inMST[to] = true;
+			nbInMST++;
+			mstEdges.add(new Edge(nodes.get(from), nodes.get(to), weight));
+			incident = nodes.get(to).getIncidentEdges();
+			for (int i = 0; i < incident.size(); i++) {
+				if (!inMST[incident.getLabel(i)]) {
 					// Add to heap all edges that do not create a cycle
-					heap.insert(edge.getFirstNode(), edge.getSecondNode(), edge.getWeight());
+					heap.insert(to, incident.getLabel(i), incident.getWeight(i));
 				}
 			}
 		}
@@ -260,9 +268,7 @@ public class BinaryHeapEdge {
 		Random rand = new Random(42);
 		for (Edge edge : al.getEdges()) {
 			int newWeight = rand.nextInt(10) + 1; // Assign random weights between 1 and 10
-			edge.setWeight(newWeight);
-			al.getNodes().get(edge.getFirstNode().getLabel()).addEdge(edge);
-			al.getNodes().get(edge.getSecondNode().getLabel()).addEdge(edge);
+			edge.setWeight(newWeight); // also seen from the incident edges of both nodes
 			System.out.println("Edge: " + edge);
 		}
 		System.out.println(al);
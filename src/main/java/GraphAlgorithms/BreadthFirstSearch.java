@@ -0,0 +1,483 @@
+package GraphAlgorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import AdjacencyArray.AdjacencyArrayDirectedGraph;
+import AdjacencyList.AdjacencyListDirectedGraph;
+import Nodes_Edges.Arc;
+import Nodes_Edges.DirectedNode;
+
+/**
+ * Result of a breadth first search from a source, with primitive arrays: the depth
+ * (number of arcs from the source) of each node and the label of its parent in the
+ * tree. The static methods compute it on the compressed sparse row form.
+ */
+public class BreadthFirstSearch {
+
+	//--------------------------------------------------
+	// 				Class variables
+	//--------------------------------------------------
+
+	/**
+	 * Default thresholds of the direction-optimizing search: it goes bottom-up when
+	 * the arcs out of the frontier exceed 1/ALPHA of the arcs out of the unvisited
+	 * nodes, and back top-down when the frontier has less than n/BETA nodes.
+	 */
+	public static final int ALPHA = 14;
+	public static final int BETA = 24;
+
+	/**
+	 * Default size under which a level of the parallel search is expanded by the
+	 * calling thread, and size of the pieces of frontier given to each task
+	 */
+	public static final int PARALLEL_THRESHOLD = 1024;
+
+	private final int source;
+	private final int[] depths;		// number of arcs from the source, -1 if not reached
+	private final int[] parents;	// label of the parent, -1 if not reached, source for the source
+	private final long nbArcsExamined;
+
+	//--------------------------------------------------
+	// 				Constructors
+	//--------------------------------------------------
+
+	/**
+	 * The arrays are kept, not copied
+	 */
+	public BreadthFirstSearch(int source, int[] depths, int[] parents, long nbArcsExamined) {
+		this.source = source;
+		this.depths = depths;
+		this.parents = parents;
+		this.nbArcsExamined = nbArcsExamined;
+	}
+
+	// ------------------------------------------
+	// 				Accessors
+	// ------------------------------------------
+
+	public int getSource() {
+		return this.source;
+	}
+
+	public int getNbNodes() {
+		return this.depths.length;
+	}
+
+	/**
+	 * @return the number of arcs from the source to v, -1 if v is not reached
+	 */
+	public int getDepth(int v) {
+		return this.depths[v];
+	}
+
+	public boolean isReached(int v) {
+		return this.depths[v] >= 0;
+	}
+
+	/**
+	 * @return the label of the node before v in the tree, -1 if v is not reached
+	 */
+	public int getParent(int v) {
+		return this.parents[v];
+	}
+
+	/**
+	 * @return the depths of all the nodes, must not be modified
+	 */
+	public int[] getDepths() {
+		return this.depths;
+	}
+
+	/**
+	 * @return the parents of all the nodes, must not be modified
+	 */
+	public int[] getParents() {
+		return this.parents;
+	}
+
+	/**
+	 * @return the number of arcs read by the search
+	 */
+	public long getNbArcsExamined() {
+		return this.nbArcsExamined;
+	}
+
+	// ------------------------------------------
+	// 				Methods
+	// ------------------------------------------
+
+	/**
+	 * @return the labels of the nodes of the path of the tree from the source to v,
+	 *         empty if v is not reached
+	 */
+	public int[] getPath(int v) {
+		if (!isReached(v)) {
+			return new int[0];
+		}
+		int[] path = new int[this.depths[v] + 1];
+		for (int u = v, i = path.length - 1; i >= 0; u = this.parents[u], i--) {
+			path[i] = u;
+		}
+		return path;
+	}
+
+	/**
+	 * Classic search, each level pushes to the successors of its nodes. O(n + m)
+	 */
+	public static BreadthFirstSearch topDown(AdjacencyArrayDirectedGraph graph, int source) {
+		int n = graph.getNbNodes();
+		int[] offsets = graph.getSuccOffsets();
+		int[] targets = graph.getSuccTargets();
+		int[] depths = new int[n];
+		int[] parents = new int[n];
+		Arrays.fill(depths, -1);
+		Arrays.fill(parents, -1);
+		int[] fifo = new int[n];
+		int head = 0;
+		int tail = 0;
+		long examined = 0;
+
+		depths[source] = 0;
+		parents[source] = source;
+		fifo[tail++] = source;
+		while (head < tail) {
+			int u = fifo[head++];
+			examined += offsets[u + 1] - offsets[u];
+			for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+				int w = targets[i];
+				if (depths[w] < 0) {
+					depths[w] = depths[u] + 1;
+					parents[w] = u;
+					fifo[tail++] = w;
+				}
+			}
+		}
+		return new BreadthFirstSearch(source, depths, parents, examined);
+	}
+
+	/**
+	 * Direction-optimizing search with the default thresholds ALPHA and BETA
+	 */
+	public static BreadthFirstSearch directionOptimizing(AdjacencyArrayDirectedGraph graph, int source) {
+		return directionOptimizing(graph, source, ALPHA, BETA);
+	}
+
+	/**
+	 * Direction-optimizing search (Beamer): a level is expanded top-down, from the
+	 * successors of the frontier, while the frontier is small, and bottom-up when it
+	 * is large: each unvisited node then looks for a predecessor in the frontier,
+	 * kept as a bitset, and stops at the first one. On graphs of low diameter most
+	 * of the arcs of the large levels are not read.
+	 * The depths are the ones of topDown, the parents may differ inside a level.
+	 */
+	public static BreadthFirstSearch directionOptimizing(AdjacencyArrayDirectedGraph graph, int source, int alpha,
+			int beta) {
+		int n = graph.getNbNodes();
+		int[] succOffsets = graph.getSuccOffsets();
+		int[] succTargets = graph.getSuccTargets();
+		int[] predOffsets = graph.getPredOffsets();
+		int[] predSources = graph.getPredSources();
+		int[] depths = new int[n];
+		int[] parents = new int[n];
+		Arrays.fill(depths, -1);
+		Arrays.fill(parents, -1);
+		int nbWords = (n + 63) >>> 6;
+		long[] frontierBits = new long[nbWords];
+		long[] nextBits = new long[nbWords];
+		int[] queue = new int[n];	// frontier as a list, for the top-down levels
+		int[] next = new int[n];
+		long examined = 0;
+
+		depths[source] = 0;
+		parents[source] = source;
+		queue[0] = source;
+		int frontierSize = 1;
+		long frontierArcs = graph.getNbSuccs(source);		// arcs out of the frontier
+		long unvisitedArcs = succOffsets[n] - frontierArcs;	// arcs out of the unvisited nodes
+		boolean bottomUp = false;
+		int level = 0;
+
+		while (frontierSize > 0) {
+			if (!bottomUp && frontierArcs > unvisitedArcs / alpha) {
+				// Passage en ascendant : la frontière devient un ensemble de bits
+				Arrays.fill(frontierBits, 0L);
+				for (int k = 0; k < frontierSize; k++) {
+					frontierBits[queue[k] >>> 6] |= 1L << queue[k];
+				}
+				bottomUp = true;
+			} else if (bottomUp && frontierSize < n / beta) {
+				// Retour en descendant : la frontière redevient une liste
+				frontierSize = toVertices(frontierBits, queue);
+				bottomUp = false;
+			}
+
+			int nextSize = 0;
+			long nextArcs = 0;
+			if (bottomUp) {
+				Arrays.fill(nextBits, 0L);
+				for (int v = 0; v < n; v++) {
+					if (depths[v] >= 0) {
+						continue;
+					}
+					for (int i = predOffsets[v]; i < predOffsets[v + 1]; i++) {
+						examined++;
+						int p = predSources[i];
+						if ((frontierBits[p >>> 6] & (1L << p)) != 0) {
+							depths[v] = level + 1;
+							parents[v] = p;
+							nextBits[v >>> 6] |= 1L << v;
+							nextSize++;
+							nextArcs += succOffsets[v + 1] - succOffsets[v];
+							break;
+						}
+					}
+				}
+				long[] tmp = frontierBits;
+				frontierBits = nextBits;
+				nextBits = tmp;
+			} else {
+				for (int k = 0; k < frontierSize; k++) {
+					int u = queue[k];
+					for (int i = succOffsets[u]; i < succOffsets[u + 1]; i++) {
+						examined++;
+						int w = succTargets[i];
+						if (depths[w] < 0) {
+							depths[w] = level + 1;
+							parents[w] = u;
+							next[nextSize++] = w;
+							nextArcs += succOffsets[w + 1] - succOffsets[w];
+						}
+					}
+				}
+				int[] tmp = queue;
+				queue = next;
+				next = tmp;
+			}
+			frontierSize = nextSize;
+			frontierArcs = nextArcs;
+			unvisitedArcs -= nextArcs;
+			level++;
+		}
+		return new BreadthFirstSearch(source, depths, parents, examined);
+	}
+
+	/**
+	 * Search on an adjacency list, through its compressed sparse row form
+	 */
+	public static BreadthFirstSearch directionOptimizing(AdjacencyListDirectedGraph graph, int source) {
+		return directionOptimizing(new AdjacencyArrayDirectedGraph(graph), source);
+	}
+
+	/**
+	 * Parallel search on the common fork-join pool with the default threshold
+	 */
+	public static BreadthFirstSearch parallel(AdjacencyArrayDirectedGraph graph, int source) {
+		return parallel(graph, source, ForkJoinPool.commonPool(), PARALLEL_THRESHOLD);
+	}
+
+	/**
+	 * Level-synchronous parallel search: the frontier of each level is cut into
+	 * pieces of threshold nodes expanded by fork-join tasks. A node is claimed by
+	 * a compare-and-set on its bit of the visited bitset, so that exactly one task
+	 * sets its depth and parent. Each task fills its own buffer and copies it at
+	 * once in the next frontier. Levels of less than threshold nodes are expanded
+	 * by the calling thread.
+	 * The depths are the ones of topDown, the parents and the order of the nodes
+	 * inside a level may differ.
+	 */
+	public static BreadthFirstSearch parallel(AdjacencyArrayDirectedGraph graph, int source, ForkJoinPool pool,
+			int threshold) {
+		if (threshold < 1) {
+			throw new IllegalArgumentException("The threshold must be positive: " + threshold);
+		}
+		ParallelLevel level = new ParallelLevel(graph, threshold);
+		level.depths[source] = 0;
+		level.parents[source] = source;
+		level.claim(source);
+		level.frontier[0] = source;
+		int frontierSize = 1;
+		int depth = 0;
+		while (frontierSize > 0) {
+			level.nextSize.set(0);
+			if (frontierSize < threshold) {
+				level.expand(0, frontierSize, depth);
+			} else {
+				pool.invoke(new ExpandTask(level, 0, frontierSize, depth));
+			}
+			int[] tmp = level.frontier;
+			level.frontier = level.next;
+			level.next = tmp;
+			frontierSize = level.nextSize.get();
+			depth++;
+		}
+		return new BreadthFirstSearch(source, level.depths, level.parents, level.examined.get());
+	}
+
+	/**
+	 * State of the parallel search shared by the tasks of a level
+	 */
+	private static final class ParallelLevel {
+		final int[] offsets;
+		final int[] targets;
+		final int threshold;
+		final int[] depths;
+		final int[] parents;
+		final AtomicLongArray visited;	// one bit per node
+		final AtomicInteger nextSize = new AtomicInteger();
+		final AtomicLong examined = new AtomicLong();
+		int[] frontier;
+		int[] next;
+
+		ParallelLevel(AdjacencyArrayDirectedGraph graph, int threshold) {
+			int n = graph.getNbNodes();
+			this.offsets = graph.getSuccOffsets();
+			this.targets = graph.getSuccTargets();
+			this.threshold = threshold;
+			this.depths = new int[n];
+			this.parents = new int[n];
+			Arrays.fill(this.depths, -1);
+			Arrays.fill(this.parents, -1);
+			this.visited = new AtomicLongArray((n + 63) >>> 6);
+			this.frontier = new int[n];
+			this.next = new int[n];
+		}
+
+		/**
+		 * @return true if the node was not visited and is now claimed by the caller
+		 */
+		boolean claim(int v) {
+			int w = v >>> 6;
+			long bit = 1L << v;
+			long word;
+			do {
+				word = this.visited.get(w);
+				if ((word & bit) != 0) {
+					return false;
+				}
+			} while (!this.visited.compareAndSet(w, word, word | bit));
+			return true;
+		}
+
+		/**
+		 * Expands the nodes frontier[from..to-1] of the given depth
+		 */
+		void expand(int from, int to, int depth) {
+			int[] buffer = new int[16];
+			int size = 0;
+			long arcs = 0;
+			for (int k = from; k < to; k++) {
+				int u = this.frontier[k];
+				arcs += this.offsets[u + 1] - this.offsets[u];
+				for (int i = this.offsets[u]; i < this.offsets[u + 1]; i++) {
+					int w = this.targets[i];
+					if (this.claim(w)) {
+						this.depths[w] = depth + 1;
+						this.parents[w] = u;
+						if (size == buffer.length) {
+							buffer = Arrays.copyOf(buffer, 2 * size);
+						}
+						buffer[size++] = w;
+					}
+				}
+			}
+			int start = this.nextSize.getAndAdd(size);
+			System.arraycopy(buffer, 0, this.next, start, size);
+			this.examined.addAndGet(arcs);
+		}
+	}
+
+	private static final class ExpandTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final ParallelLevel level;
+		private final int from;
+		private final int to;
+		private final int depth;
+
+		ExpandTask(ParallelLevel level, int from, int to, int depth) {
+			this.level = level;
+			this.from = from;
+			this.to = to;
+			this.depth = depth;
+		}
+
+		@Override
+		protected void compute() {
+			if (this.to - this.from <= this.level.threshold) {
+				this.level.expand(this.from, this.to, this.depth);
+			} else {
+				int mid = (this.from + this.to) >>> 1;
+				invokeAll(new ExpandTask(this.level, this.from, mid, this.depth),
+						new ExpandTask(this.level, mid, this.to, this.depth));
+			}
+		}
+	}
+
+	/**
+	 * Writes in vertices the nodes whose bit is set, by increasing label
+	 *
+	 * @return the number of nodes written
+	 */
+	private static int toVertices(long[] bits, int[] vertices) {
+		int size = 0;
+		for (int w = 0; w < bits.length; w++) {
+			long word = bits[w];
+			while (word != 0) {
+				vertices[size++] = (w << 6) + Long.numberOfTrailingZeros(word);
+				word &= word - 1;
+			}
+		}
+		return size;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder s = new StringBuilder("Noeud\tProfondeur\tParent\n");
+		for (int v = 0; v < this.depths.length; v++) {
+			s.append(v).append("\t")
+					.append(isReached(v) ? String.valueOf(this.depths[v]) : "inf").append("\t\t")
+					.append(this.parents[v] >= 0 ? String.valueOf(this.parents[v]) : "null").append("\n");
+		}
+		return s.toString();
+	}
+
+	public static void main(String[] args) {
+		int[][] matrix = GraphTools.generateGraphData(10, 20, false, false, true, 100001);
+		AdjacencyArrayDirectedGraph small = new AdjacencyArrayDirectedGraph(new AdjacencyListDirectedGraph(matrix));
+		System.out.println(directionOptimizing(small, 0));
+
+		// Random graph of low diameter: 100000 nodes, 16 successors on average
+		int n = 100000;
+		Random rand = new Random(42);
+		List<DirectedNode> nodes = new ArrayList<>();
+		for (int v = 0; v < n; v++) {
+			nodes.add(new DirectedNode(v));
+		}
+		AdjacencyListDirectedGraph al = new AdjacencyListDirectedGraph(nodes, new ArrayList<Arc>());
+		for (int k = 0; k < 16 * n; k++) {
+			int u = rand.nextInt(n);
+			int v = rand.nextInt(n);
+			if (u != v) {
+				al.addArc(nodes.get(u), nodes.get(v));
+			}
+		}
+		AdjacencyArrayDirectedGraph csr = new AdjacencyArrayDirectedGraph(al);
+		BreadthFirstSearch classic = topDown(csr, 0);
+		BreadthFirstSearch optimized = directionOptimizing(csr, 0);
+		System.out.println("Mêmes profondeurs ? " + Arrays.equals(classic.getDepths(), optimized.getDepths()));
+		System.out.println("Arcs lus : " + classic.getNbArcsExamined() + " en descendant, "
+				+ optimized.getNbArcsExamined() + " en optimisant la direction");
+		BreadthFirstSearch parallel = parallel(csr, 0);
+		System.out.println("Mêmes profondeurs en parallèle ? " + Arrays.equals(classic.getDepths(), parallel.getDepths()));
+	}
+
+}
@@ -0,0 +1,711 @@
+package GraphAlgorithms;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import AdjacencyArray.AdjacencyArrayDirectedGraph;
+import AdjacencyList.AdjacencyListDirectedGraph;
+import AdjacencyList.AdjacencyListDirectedValuedGraph;
+import Nodes_Edges.Arc;
+import Nodes_Edges.DirectedNode;
+
+/**
+ * Contraction hierarchy of a directed graph with non negative weights, for fast
+ * point to point queries on a static graph.
+ * The nodes are contracted one by one, by increasing priority (edge difference: the
+ * number of shortcuts the contraction adds minus the number of arcs it removes,
+ * plus the number of neighbours already contracted). Contracting v adds a shortcut
+ * u -> x of weight w(u,v) + w(v,x) for each pair of neighbours not contracted yet,
+ * unless a bounded Dijkstra search avoiding v (witness search) finds a path at most
+ * as short. The rank of a node is its position in this order.
+ * A query is a bidirectional Dijkstra going only towards higher ranks: forward over
+ * the upward arcs from the source, backward over the upward arcs reaching the
+ * target. Each shortcut keeps the node it bypasses, so the paths are unpacked into
+ * arcs of the graph.
+ * The hierarchy is kept in compressed sparse rows and can be written to a DataOutput
+ * and read back, so that it is computed once.
+ */
+public class ContractionHierarchy {
+
+	//--------------------------------------------------
+	// 				Class variables
+	//--------------------------------------------------
+
+	/**
+	 * Number of nodes settled by a witness search before giving up: the shortcut is
+	 * then added, which may be useless but keeps the distances exact
+	 */
+	public static final int WITNESS_LIMIT = 500;
+
+	/**
+	 * Same limit for the witness searches which only estimate the priority of a node
+	 */
+	public static final int ESTIMATE_LIMIT = 50;
+
+	private static final int MAGIC = 0x43480001;	// "CH", version 1
+	private static final long INF = ShortestPathTree.UNREACHABLE;
+
+	private final int nbNodes;
+	private final int[] rank;		// position of each node in the contraction order
+	private final int[] upOffsets;	// arcs u -> x with rank[x] > rank[u], grouped by u
+	private final int[] upTargets;
+	private final long[] upWeights;
+	private final int[] upMiddles;	// node bypassed by the shortcut, -1 for an arc of the graph
+	private final int[] downOffsets;	// arcs w -> x with rank[w] > rank[x], grouped by x
+	private final int[] downSources;
+	private final long[] downWeights;
+	private final int[] downMiddles;
+
+	//--------------------------------------------------
+	// 				Constructors
+	//--------------------------------------------------
+
+	private ContractionHierarchy(int nbNodes, int[] rank, int[] upOffsets, int[] upTargets, long[] upWeights,
+			int[] upMiddles, int[] downOffsets, int[] downSources, long[] downWeights, int[] downMiddles) {
+		this.nbNodes = nbNodes;
+		this.rank = rank;
+		this.upOffsets = upOffsets;
+		this.upTargets = upTargets;
+		this.upWeights = upWeights;
+		this.upMiddles = upMiddles;
+		this.downOffsets = downOffsets;
+		this.downSources = downSources;
+		this.downWeights = downWeights;
+		this.downMiddles = downMiddles;
+	}
+
+	// ------------------------------------------
+	// 				Accessors
+	// ------------------------------------------
+
+	public int getNbNodes() {
+		return this.nbNodes;
+	}
+
+	/**
+	 * @return the position of v in the contraction order
+	 */
+	public int getRank(int v) {
+		return this.rank[v];
+	}
+
+	/**
+	 * @return the number of arcs of the hierarchy, shortcuts included
+	 */
+	public int getNbArcs() {
+		return this.upTargets.length + this.downSources.length;
+	}
+
+	public int getNbShortcuts() {
+		int nb = 0;
+		for (int m : this.upMiddles) {
+			if (m >= 0) {
+				nb++;
+			}
+		}
+		for (int m : this.downMiddles) {
+			if (m >= 0) {
+				nb++;
+			}
+		}
+		return nb;
+	}
+
+	// ------------------------------------------
+	// 				Methods
+	// ------------------------------------------
+
+	/**
+	 * Builds the hierarchy, the initial priorities being computed on the common
+	 * fork-join pool
+	 */
+	public static ContractionHierarchy build(AdjacencyArrayDirectedGraph graph) {
+		return build(graph, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Builds the hierarchy on an adjacency list, through its compressed sparse row form
+	 */
+	public static ContractionHierarchy build(AdjacencyListDirectedValuedGraph graph) {
+		return build(new AdjacencyArrayDirectedGraph(graph));
+	}
+
+	/**
+	 * Builds the hierarchy. The priorities of all the nodes are first simulated in
+	 * parallel on the pool, each thread having its own witness search workspace, then
+	 * the nodes are contracted in order, a priority being recomputed when its node
+	 * reaches the top of the queue (lazy updates).
+	 *
+	 * @throws IllegalArgumentException if an arc has a negative weight
+	 */
+	public static ContractionHierarchy build(AdjacencyArrayDirectedGraph graph, ForkJoinPool pool) {
+		int n = graph.getNbNodes();
+		Contraction c = new Contraction(graph);
+		ThreadLocal<Witness> workspaces = ThreadLocal.withInitial(() -> new Witness(n));
+		long[] priorities = new long[n];
+		pool.submit(() -> IntStream.range(0, n).parallel()
+				.forEach(v -> priorities[v] = c.priority(v, workspaces.get()))).join();
+
+		IndexedDaryHeap queue = new IndexedDaryHeap(n);
+		for (int v = 0; v < n; v++) {
+			queue.insert(v, priorities[v]);
+		}
+		Witness witness = new Witness(n);
+		int[] rank = new int[n];
+		int next = 0;
+		while (!queue.isEmpty()) {
+			int v = queue.remove();
+			long priority = c.priority(v, witness);
+			if (!queue.isEmpty() && priority > queue.getKey(queue.peek())) {
+				queue.insert(v, priority); // priorité périmée, le noeud reprend sa place
+				continue;
+			}
+			c.contract(v, witness);
+			rank[v] = next++;
+		}
+		return c.toHierarchy(rank);
+	}
+
+	/**
+	 * Shortest path from source to target: bidirectional Dijkstra over the upward
+	 * arcs, each direction stopping when its least key reaches the best distance
+	 * found. The path is unpacked into arcs of the graph.
+	 */
+	public PointToPointPath query(int source, int target) {
+		int n = this.nbNodes;
+		long[] forward = new long[n];
+		long[] backward = new long[n];
+		int[] forwardParent = new int[n];	// node before, by the upward arc forwardArc
+		int[] forwardArc = new int[n];		// index of the upward arc reaching the node, -1 for the root
+		int[] backwardParent = new int[n];	// node after, by the downward arc backwardArc
+		int[] backwardArc = new int[n];		// index of the downward arc leaving the node, -1 for the root
+		Arrays.fill(forward, INF);
+		Arrays.fill(backward, INF);
+		IndexedDaryHeap forwardHeap = new IndexedDaryHeap(n);
+		IndexedDaryHeap backwardHeap = new IndexedDaryHeap(n);
+		forward[source] = 0;
+		forwardArc[source] = -1;
+		forwardHeap.insert(source, 0);
+		backward[target] = 0;
+		backwardArc[target] = -1;
+		backwardHeap.insert(target, 0);
+		long mu = source == target ? 0 : INF;
+		int meet = source == target ? source : -1;
+		int nbSettled = 0;
+
+		while (true) {
+			boolean forwardActive = !forwardHeap.isEmpty() && forwardHeap.getKey(forwardHeap.peek()) < mu;
+			boolean backwardActive = !backwardHeap.isEmpty() && backwardHeap.getKey(backwardHeap.peek()) < mu;
+			if (!forwardActive && !backwardActive) {
+				break;
+			}
+			boolean forwardTurn = forwardActive && (!backwardActive
+					|| forwardHeap.getKey(forwardHeap.peek()) <= backwardHeap.getKey(backwardHeap.peek()));
+			if (forwardTurn) {
+				int u = forwardHeap.remove();
+				nbSettled++;
+				if (backward[u] != INF && forward[u] + backward[u] < mu) {
+					mu = forward[u] + backward[u];
+					meet = u;
+				}
+				for (int i = this.upOffsets[u]; i < this.upOffsets[u + 1]; i++) {
+					int x = this.upTargets[i];
+					long d = forward[u] + this.upWeights[i];
+					if (d < forward[x]) {
+						forward[x] = d;
+						forwardParent[x] = u;
+						forwardArc[x] = i;
+						forwardHeap.insertOrDecrease(x, d);
+					}
+				}
+			} else {
+				int x = backwardHeap.remove();
+				nbSettled++;
+				if (forward[x] != INF && forward[x] + backward[x] < mu) {
+					mu = forward[x] + backward[x];
+					meet = x;
+				}
+				for (int i = this.downOffsets[x]; i < this.downOffsets[x + 1]; i++) {
+					int w = this.downSources[i];
+					long d = backward[x] + this.downWeights[i];
+					if (d < backward[w]) {
+						backward[w] = d;
+						backwardParent[w] = x;
+						backwardArc[w] = i;
+						backwardHeap.insertOrDecrease(w, d);
+					}
+				}
+			}
+		}
+		if (meet < 0) {
+			return new PointToPointPath(source, target, INF, new int[0], nbSettled);
+		}
+
+		// Arcs de la hiérarchie de la source au sommet de rencontre puis à la cible
+		List<int[]> arcs = new ArrayList<>();	// {from, to, middle}
+		for (int x = meet; forwardArc[x] >= 0; ) {
+			int u = forwardParent[x];
+			arcs.add(0, new int[] { u, x, this.upMiddles[forwardArc[x]] });
+			x = u;
+		}
+		for (int w = meet; backwardArc[w] >= 0; ) {
+			int x = backwardParent[w];
+			arcs.add(new int[] { w, x, this.downMiddles[backwardArc[w]] });
+			w = x;
+		}
+		IntList path = new IntList();
+		path.add(source);
+		for (int[] arc : arcs) {
+			this.unpack(arc[0], arc[1], arc[2], path);
+		}
+		return new PointToPointPath(source, target, mu, path.toArray(), nbSettled);
+	}
+
+	/**
+	 * Appends to path the nodes after from of the arcs of the graph bypassed by the
+	 * arc from -> to: a shortcut bypassing m stands for the arc from -> m, kept in
+	 * the downward arcs of m, and the arc m -> to, kept in the upward arcs of m.
+	 */
+	private void unpack(int from, int to, int middle, IntList path) {
+		IntList stack = new IntList();	// triples (from, to, middle), the last one first
+		stack.add(from);
+		stack.add(to);
+		stack.add(middle);
+		while (stack.size > 0) {
+			int m = stack.items[--stack.size];
+			int b = stack.items[--stack.size];
+			int a = stack.items[--stack.size];
+			if (m < 0) {
+				path.add(b);
+				continue;
+			}
+			int second = -1;
+			for (int i = this.upOffsets[m]; i < this.upOffsets[m + 1]; i++) {
+				if (this.upTargets[i] == b) {
+					second = i;
+				}
+			}
+			int first = -1;
+			for (int i = this.downOffsets[m]; i < this.downOffsets[m + 1]; i++) {
+				if (this.downSources[i] == a) {
+					first = i;
+				}
+			}
+			// a -> m est traité avant m -> b
+			stack.add(m);
+			stack.add(b);
+			stack.add(this.upMiddles[second]);
+			stack.add(a);
+			stack.add(m);
+			stack.add(this.downMiddles[first]);
+		}
+	}
+
+	/**
+	 * Writes the hierarchy, to be read back by read
+	 */
+	public void write(DataOutput out) throws IOException {
+		out.writeInt(MAGIC);
+		out.writeInt(this.nbNodes);
+		writeInts(out, this.rank);
+		writeInts(out, this.upOffsets);
+		writeInts(out, this.upTargets);
+		writeLongs(out, this.upWeights);
+		writeInts(out, this.upMiddles);
+		writeInts(out, this.downOffsets);
+		writeInts(out, this.downSources);
+		writeLongs(out, this.downWeights);
+		writeInts(out, this.downMiddles);
+	}
+
+	/**
+	 * Reads a hierarchy written by write
+	 *
+	 * @throws IOException if the data is not a hierarchy
+	 */
+	public static ContractionHierarchy read(DataInput in) throws IOException {
+		if (in.readInt() != MAGIC) {
+			throw new IOException("Not a contraction hierarchy");
+		}
+		int nbNodes = in.readInt();
+		return new ContractionHierarchy(nbNodes, readInts(in), readInts(in), readInts(in), readLongs(in),
+				readInts(in), readInts(in), readInts(in), readLongs(in), readInts(in));
+	}
+
+	private static void writeInts(DataOutput out, int[] values) throws IOException {
+		out.writeInt(values.length);
+		for (int v : values) {
+			out.writeInt(v);
+		}
+	}
+
+	private static void writeLongs(DataOutput out, long[] values) throws IOException {
+		out.writeInt(values.length);
+		for (long v : values) {
+			out.writeLong(v);
+		}
+	}
+
+	private static int[] readInts(DataInput in) throws IOException {
+		int[] values = new int[in.readInt()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = in.readInt();
+		}
+		return values;
+	}
+
+	private static long[] readLongs(DataInput in) throws IOException {
+		long[] values = new long[in.readInt()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = in.readLong();
+		}
+		return values;
+	}
+
+	/**
+	 * Graph being contracted: growable out and in lists for each node. When a node is
+	 * contracted, it is removed from the lists of its neighbours and its own lists are
+	 * no longer modified: they hold its arcs to the nodes contracted after it, which
+	 * are its arcs in the hierarchy.
+	 */
+	private static final class Contraction {
+		final int n;
+		final int[][] outTargets;
+		final long[][] outWeights;
+		final int[][] outMiddles;
+		final int[] outSizes;
+		final int[][] inSources;
+		final long[][] inWeights;
+		final int[][] inMiddles;
+		final int[] inSizes;
+		final int[] contractedNeighbours;
+
+		Contraction(AdjacencyArrayDirectedGraph graph) {
+			this.n = graph.getNbNodes();
+			this.outTargets = new int[this.n][];
+			this.outWeights = new long[this.n][];
+			this.outMiddles = new int[this.n][];
+			this.outSizes = new int[this.n];
+			this.inSources = new int[this.n][];
+			this.inWeights = new long[this.n][];
+			this.inMiddles = new int[this.n][];
+			this.inSizes = new int[this.n];
+			this.contractedNeighbours = new int[this.n];
+			for (int v = 0; v < this.n; v++) {
+				int out = Math.max(2, graph.getNbSuccs(v));
+				int in = Math.max(2, graph.getNbPreds(v));
+				this.outTargets[v] = new int[out];
+				this.outWeights[v] = new long[out];
+				this.outMiddles[v] = new int[out];
+				this.inSources[v] = new int[in];
+				this.inWeights[v] = new long[in];
+				this.inMiddles[v] = new int[in];
+			}
+			int[] offsets = graph.getSuccOffsets();
+			int[] targets = graph.getSuccTargets();
+			int[] weights = graph.getSuccWeights();
+			for (int u = 0; u < this.n; u++) {
+				for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+					if (weights[i] < 0) {
+						throw new IllegalArgumentException("Negative weight: " + weights[i]);
+					}
+					if (targets[i] != u) {
+						this.addArc(u, targets[i], weights[i], -1);
+					}
+				}
+			}
+		}
+
+		/**
+		 * Adds the arc u -> x, or lowers the weight of the existing one
+		 */
+		void addArc(int u, int x, long weight, int middle) {
+			for (int i = 0; i < this.outSizes[u]; i++) {
+				if (this.outTargets[u][i] == x) {
+					if (weight < this.outWeights[u][i]) {
+						this.outWeights[u][i] = weight;
+						this.outMiddles[u][i] = middle;
+						for (int j = 0; j < this.inSizes[x]; j++) {
+							if (this.inSources[x][j] == u) {
+								this.inWeights[x][j] = weight;
+								this.inMiddles[x][j] = middle;
+							}
+						}
+					}
+					return;
+				}
+			}
+			int s = this.outSizes[u];
+			if (s == this.outTargets[u].length) {
+				this.outTargets[u] = Arrays.copyOf(this.outTargets[u], 2 * s);
+				this.outWeights[u] = Arrays.copyOf(this.outWeights[u], 2 * s);
+				this.outMiddles[u] = Arrays.copyOf(this.outMiddles[u], 2 * s);
+			}
+			this.outTargets[u][s] = x;
+			this.outWeights[u][s] = weight;
+			this.outMiddles[u][s] = middle;
+			this.outSizes[u] = s + 1;
+			s = this.inSizes[x];
+			if (s == this.inSources[x].length) {
+				this.inSources[x] = Arrays.copyOf(this.inSources[x], 2 * s);
+				this.inWeights[x] = Arrays.copyOf(this.inWeights[x], 2 * s);
+				this.inMiddles[x] = Arrays.copyOf(this.inMiddles[x], 2 * s);
+			}
+			this.inSources[x][s] = u;
+			this.inWeights[x][s] = weight;
+			this.inMiddles[x][s] = middle;
+			this.inSizes[x] = s + 1;
+		}
+
+		/**
+		 * @return the edge difference of v plus its number of contracted neighbours,
+		 *         nothing being modified
+		 */
+		long priority(int v, Witness witness) {
+			int degree = this.inSizes[v] + this.outSizes[v];
+			return shortcuts(v, witness, false) - degree + this.contractedNeighbours[v];
+		}
+
+		/**
+		 * Contracts v, adding its shortcuts
+		 */
+		void contract(int v, Witness witness) {
+			shortcuts(v, witness, true);
+			for (int i = 0; i < this.inSizes[v]; i++) {
+				int u = this.inSources[v][i];
+				this.contractedNeighbours[u]++;
+				// Retrait de u -> v de la liste de u, par échange avec le dernier arc
+				int last = --this.outSizes[u];
+				for (int j = 0; j <= last; j++) {
+					if (this.outTargets[u][j] == v) {
+						this.outTargets[u][j] = this.outTargets[u][last];
+						this.outWeights[u][j] = this.outWeights[u][last];
+						this.outMiddles[u][j] = this.outMiddles[u][last];
+						break;
+					}
+				}
+			}
+			for (int i = 0; i < this.outSizes[v]; i++) {
+				int x = this.outTargets[v][i];
+				this.contractedNeighbours[x]++;
+				int last = --this.inSizes[x];
+				for (int j = 0; j <= last; j++) {
+					if (this.inSources[x][j] == v) {
+						this.inSources[x][j] = this.inSources[x][last];
+						this.inWeights[x][j] = this.inWeights[x][last];
+						this.inMiddles[x][j] = this.inMiddles[x][last];
+						break;
+					}
+				}
+			}
+		}
+
+		/**
+		 * @return the number of shortcuts needed by the contraction of v, added if apply
+		 */
+		private int shortcuts(int v, Witness witness, boolean apply) {
+			int nb = 0;
+			for (int i = 0; i < this.inSizes[v]; i++) {
+				int u = this.inSources[v][i];
+				long toV = this.inWeights[v][i];
+				long limit = -1;
+				for (int j = 0; j < this.outSizes[v]; j++) {
+					int x = this.outTargets[v][j];
+					if (x != u) {
+						limit = Math.max(limit, toV + this.outWeights[v][j]);
+					}
+				}
+				if (limit < 0) {
+					continue;
+				}
+				witness.search(this, u, v, limit, apply ? WITNESS_LIMIT : ESTIMATE_LIMIT);
+				for (int j = 0; j < this.outSizes[v]; j++) {
+					int x = this.outTargets[v][j];
+					long viaV = toV + this.outWeights[v][j];
+					if (x != u && witness.distance(x) > viaV) {
+						nb++;
+						if (apply) {
+							this.addArc(u, x, viaV, v);
+						}
+					}
+				}
+				witness.reset();
+			}
+			return nb;
+		}
+
+		/**
+		 * @return the hierarchy, once every node is contracted: the lists of each node
+		 *         hold its arcs towards higher ranks, in both directions
+		 */
+		ContractionHierarchy toHierarchy(int[] rank) {
+			int[] upOffsets = new int[this.n + 1];
+			int[] downOffsets = new int[this.n + 1];
+			for (int u = 0; u < this.n; u++) {
+				upOffsets[u + 1] = upOffsets[u] + this.outSizes[u];
+				downOffsets[u + 1] = downOffsets[u] + this.inSizes[u];
+			}
+			int[] upTargets = new int[upOffsets[this.n]];
+			long[] upWeights = new long[upOffsets[this.n]];
+			int[] upMiddles = new int[upOffsets[this.n]];
+			int[] downSources = new int[downOffsets[this.n]];
+			long[] downWeights = new long[downOffsets[this.n]];
+			int[] downMiddles = new int[downOffsets[this.n]];
+			for (int u = 0; u < this.n; u++) {
+				System.arraycopy(this.outTargets[u], 0, upTargets, upOffsets[u], this.outSizes[u]);
+				System.arraycopy(this.outWeights[u], 0, upWeights, upOffsets[u], this.outSizes[u]);
+				System.arraycopy(this.outMiddles[u], 0, upMiddles, upOffsets[u], this.outSizes[u]);
+				System.arraycopy(this.inSources[u], 0, downSources, downOffsets[u], this.inSizes[u]);
+				System.arraycopy(this.inWeights[u], 0, downWeights, downOffsets[u], this.inSizes[u]);
+				System.arraycopy(this.inMiddles[u], 0, downMiddles, downOffsets[u], this.inSizes[u]);
+			}
+			return new ContractionHierarchy(this.n, rank, upOffsets, upTargets, upWeights, upMiddles, downOffsets,
+					downSources, downWeights, downMiddles);
+		}
+	}
+
+	/**
+	 * Workspace of the witness searches: a Dijkstra limited in distance and in
+	 * number of settled nodes, reset in the size of what it touched
+	 */
+	private static final class Witness {
+		final long[] distances;
+		final IndexedDaryHeap heap;
+		final IntList touched = new IntList();
+
+		Witness(int n) {
+			this.distances = new long[n];
+			Arrays.fill(this.distances, INF);
+			this.heap = new IndexedDaryHeap(n);
+		}
+
+		/**
+		 * Distances from source over the nodes not contracted, avoiding excluded, up
+		 * to limit (the lists of the nodes not contracted only hold such nodes)
+		 */
+		void search(Contraction c, int source, int excluded, long limit, int maxSettled) {
+			this.distances[source] = 0;
+			this.touched.add(source);
+			this.heap.insert(source, 0);
+			int settled = 0;
+			while (!this.heap.isEmpty() && settled < maxSettled) {
+				int u = this.heap.remove();
+				settled++;
+				if (this.distances[u] > limit) {
+					break;
+				}
+				for (int i = 0; i < c.outSizes[u]; i++) {
+					int x = c.outTargets[u][i];
+					if (x == excluded) {
+						continue;
+					}
+					long d = this.distances[u] + c.outWeights[u][i];
+					if (d < this.distances[x]) {
+						if (this.distances[x] == INF) {
+							this.touched.add(x);
+						}
+						this.distances[x] = d;
+						this.heap.insertOrDecrease(x, d);
+					}
+				}
+			}
+		}
+
+		long distance(int v) {
+			return this.distances[v];
+		}
+
+		void reset() {
+			for (int k = 0; k < this.touched.size; k++) {
+				this.distances[this.touched.items[k]] = INF;
+			}
+			this.touched.size = 0;
+			this.heap.clear();
+		}
+	}
+
+	/**
+	 * Growable array of int
+	 */
+	private static final class IntList {
+		int[] items = new int[16];
+		int size;
+
+		void add(int v) {
+			if (this.size == this.items.length) {
+				this.items = Arrays.copyOf(this.items, 2 * this.size);
+			}
+			this.items[this.size++] = v;
+		}
+
+		int[] toArray() {
+			return Arrays.copyOf(this.items, this.size);
+		}
+	}
+
+	public static void main(String[] args) throws IOException {
+		int[][] matrix = GraphTools.generateValuedGraphData(10, false, false, true, false, 100001);
+		AdjacencyArrayDirectedGraph small = new AdjacencyArrayDirectedGraph(matrix);
+		ContractionHierarchy smallHierarchy = build(small);
+		System.out.println(smallHierarchy.query(9, 7));
+		System.out.println(PointToPointPath.dijkstra(small, 9, 7));
+
+		// Grid of 200x200 nodes, as a road network, weights between 1 and 15
+		int side = 200;
+		int n = side * side;
+		Random rand = new Random(42);
+		List<DirectedNode> nodes = new ArrayList<>();
+		for (int v = 0; v < n; v++) {
+			nodes.add(new DirectedNode(v));
+		}
+		AdjacencyListDirectedGraph al = new AdjacencyListDirectedGraph(nodes, new ArrayList<Arc>());
+		for (int v = 0; v < n; v++) {
+			if (v % side + 1 < side) {
+				al.addArc(nodes.get(v), nodes.get(v + 1), 1 + rand.nextInt(15));
+				al.addArc(nodes.get(v + 1), nodes.get(v), 1 + rand.nextInt(15));
+			}
+			if (v + side < n) {
+				al.addArc(nodes.get(v), nodes.get(v + side), 1 + rand.nextInt(15));
+				al.addArc(nodes.get(v + side), nodes.get(v), 1 + rand.nextInt(15));
+			}
+		}
+		AdjacencyArrayDirectedGraph grid = new AdjacencyArrayDirectedGraph(al);
+		long start = System.nanoTime();
+		ContractionHierarchy hierarchy = build(grid);
+		System.out.println("Prétraitement : " + (System.nanoTime() - start) / 1000000 + " ms, "
+				+ hierarchy.getNbShortcuts() + " raccourcis");
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		hierarchy.write(new DataOutputStream(bytes));
+		ContractionHierarchy loaded = read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+		System.out.println("Sérialisée en " + bytes.size() + " octets");
+
+		int settledDijkstra = 0;
+		int settledHierarchy = 0;
+		boolean same = true;
+		for (int q = 0; q < 20; q++) {
+			int s = rand.nextInt(n);
+			int t = rand.nextInt(n);
+			PointToPointPath reference = PointToPointPath.dijkstra(grid, s, t);
+			PointToPointPath answer = loaded.query(s, t);
+			same &= reference.getDistance() == answer.getDistance();
+			settledDijkstra += reference.getNbSettled();
+			settledHierarchy += answer.getNbSettled();
+		}
+		System.out.println("Mêmes distances sur 20 requêtes ? " + same);
+		System.out.println("Noeuds traités : " + settledDijkstra + " (Dijkstra), " + settledHierarchy
+				+ " (hiérarchie)");
+	}
+
+}
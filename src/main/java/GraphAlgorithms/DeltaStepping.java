@@ -0,0 +1,371 @@
+package GraphAlgorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+import AdjacencyArray.AdjacencyArrayDirectedGraph;
+import AdjacencyList.AdjacencyListDirectedGraph;
+import AdjacencyList.AdjacencyListDirectedValuedGraph;
+import Nodes_Edges.Arc;
+import Nodes_Edges.DirectedNode;
+
+/**
+ * Parallel single source shortest paths by delta-stepping (Meyer and Sanders), on
+ * the compressed sparse row form with non negative weights.
+ * The nodes are kept in buckets of distances of width delta. The smallest bucket is
+ * emptied by rounds relaxing in parallel the light arcs (weight at most delta) of
+ * its nodes, which can only refill it, then the heavy arcs of all the nodes it
+ * held are relaxed once. The relaxations of a round are fork-join tasks lowering
+ * the distances by compare-and-set.
+ * The distances are the ones of Dijkstra, the parents may differ between equal
+ * paths.
+ */
+public class DeltaStepping {
+
+	/**
+	 * Below this number of nodes, a round is relaxed by the calling thread
+	 */
+	public static final int PARALLEL_THRESHOLD = 512;
+
+	private static final long INF = ShortestPathTree.UNREACHABLE;
+
+	/**
+	 * Delta-stepping on the common fork-join pool, delta being the greatest weight
+	 * divided by the average out degree
+	 */
+	public static ShortestPathTree run(AdjacencyArrayDirectedGraph graph, int source) {
+		int n = graph.getNbNodes();
+		int maxWeight = 0;
+		for (int w : graph.getSuccWeights()) {
+			maxWeight = Math.max(maxWeight, w);
+		}
+		long delta = (long) maxWeight * n / Math.max(1, graph.getNbArcs());
+		return run(graph, source, (int) Math.max(1, Math.min(delta, maxWeight)), ForkJoinPool.commonPool());
+	}
+
+	public static ShortestPathTree run(AdjacencyArrayDirectedGraph graph, int source, int delta) {
+		return run(graph, source, delta, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * @param delta the width of the buckets, at least 1
+	 * @throws IllegalArgumentException if an arc has a negative weight
+	 */
+	public static ShortestPathTree run(AdjacencyArrayDirectedGraph graph, int source, int delta, ForkJoinPool pool) {
+		if (delta < 1) {
+			throw new IllegalArgumentException("The width of the buckets must be positive: " + delta);
+		}
+		Split split = new Split(graph, delta, pool);
+		int n = graph.getNbNodes();
+		AtomicLongArray dist = new AtomicLongArray(n);
+		for (int v = 0; v < n; v++) {
+			dist.set(v, INF);
+		}
+		dist.set(source, 0);
+
+		// Les seaux sont circulaires : une relaxation depuis le seau i tombe au plus
+		// dans le seau i + maxWeight/delta + 1
+		int nbBuckets = split.maxWeight / delta + 2;
+		IntBag[] buckets = new IntBag[nbBuckets];
+		for (int b = 0; b < nbBuckets; b++) {
+			buckets[b] = new IntBag();
+		}
+		buckets[0].add(source);
+		int[] roundMark = new int[n];	// last round where the node was relaxed
+		long[] bucketMark = new long[n];	// last bucket where the node was settled, plus one
+		int round = 0;
+		IntBag settled = new IntBag();
+
+		long current = 0;	// index of the bucket being emptied
+		int empty = 0;		// number of consecutive empty buckets
+		while (empty < nbBuckets) {
+			IntBag bucket = buckets[(int) (current % nbBuckets)];
+			if (bucket.size == 0) {
+				empty++;
+				current++;
+				continue;
+			}
+			empty = 0;
+			settled.clear();
+			while (bucket.size > 0) {
+				round++;
+				// Noeuds encore dans ce seau, sans doublon
+				int[] frontier = new int[bucket.size];
+				int size = 0;
+				for (int k = 0; k < bucket.size; k++) {
+					int v = bucket.items[k];
+					if (roundMark[v] != round && dist.get(v) / delta == current) {
+						roundMark[v] = round;
+						frontier[size++] = v;
+						if (bucketMark[v] != current + 1) {
+							bucketMark[v] = current + 1;
+							settled.add(v);
+						}
+					}
+				}
+				bucket.clear();
+				IntBag improved = relax(pool, split, dist, Arrays.copyOf(frontier, size), true);
+				distribute(improved, dist, delta, buckets);
+			}
+			IntBag improved = relax(pool, split, dist, Arrays.copyOf(settled.items, settled.size), false);
+			distribute(improved, dist, delta, buckets);
+			current++;
+		}
+
+		long[] distances = new long[n];
+		for (int v = 0; v < n; v++) {
+			distances[v] = dist.get(v);
+		}
+		int[] parents = split.hasZeroWeight ? tightTree(graph, source, distances)
+				: tightParents(graph, source, distances, pool);
+		return new ShortestPathTree(source, distances, parents);
+	}
+
+	/**
+	 * Delta-stepping on an adjacency list, through its compressed sparse row form
+	 */
+	public static ShortestPathTree run(AdjacencyListDirectedValuedGraph graph, int source) {
+		return run(new AdjacencyArrayDirectedGraph(graph), source);
+	}
+
+	private static IntBag relax(ForkJoinPool pool, Split split, AtomicLongArray dist, int[] nodes, boolean light) {
+		if (nodes.length < PARALLEL_THRESHOLD) {
+			return new RelaxTask(split, dist, nodes, 0, nodes.length, light).compute();
+		}
+		return pool.invoke(new RelaxTask(split, dist, nodes, 0, nodes.length, light));
+	}
+
+	private static void distribute(IntBag improved, AtomicLongArray dist, int delta, IntBag[] buckets) {
+		for (int k = 0; k < improved.size; k++) {
+			int v = improved.items[k];
+			buckets[(int) (dist.get(v) / delta % buckets.length)].add(v);
+		}
+	}
+
+	/**
+	 * Parent of each node: one of its predecessors u with dist[u] + w = dist[v]. The
+	 * weights being positive, these arcs have no cycle.
+	 */
+	private static int[] tightParents(AdjacencyArrayDirectedGraph graph, int source, long[] distances,
+			ForkJoinPool pool) {
+		int n = graph.getNbNodes();
+		int[] offsets = graph.getPredOffsets();
+		int[] sources = graph.getPredSources();
+		int[] weights = graph.getPredWeights();
+		int[] parents = new int[n];
+		pool.submit(() -> IntStream.range(0, n).parallel().forEach(v -> {
+			parents[v] = -1;
+			if (v == source) {
+				parents[v] = source;
+			} else if (distances[v] != INF) {
+				for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+					int u = sources[i];
+					if (distances[u] != INF && distances[u] + weights[i] == distances[v]) {
+						parents[v] = u;
+						break;
+					}
+				}
+			}
+		})).join();
+		return parents;
+	}
+
+	/**
+	 * Parents given by a breadth first search from the source over the arcs with
+	 * dist[u] + w = dist[v], which avoids the cycles of arcs of weight 0
+	 */
+	private static int[] tightTree(AdjacencyArrayDirectedGraph graph, int source, long[] distances) {
+		int n = graph.getNbNodes();
+		int[] offsets = graph.getSuccOffsets();
+		int[] targets = graph.getSuccTargets();
+		int[] weights = graph.getSuccWeights();
+		int[] parents = new int[n];
+		Arrays.fill(parents, -1);
+		int[] fifo = new int[n];
+		int head = 0;
+		int tail = 0;
+		parents[source] = source;
+		fifo[tail++] = source;
+		while (head < tail) {
+			int u = fifo[head++];
+			for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+				int v = targets[i];
+				if (parents[v] < 0 && distances[u] + weights[i] == distances[v]) {
+					parents[v] = u;
+					fifo[tail++] = v;
+				}
+			}
+		}
+		return parents;
+	}
+
+	/**
+	 * Copy of the successor rows with the light arcs first: the light arcs of u are
+	 * between offsets[u] and lightEnd[u], the heavy ones between lightEnd[u] and
+	 * offsets[u+1]
+	 */
+	private static final class Split {
+		final int[] offsets;
+		final int[] lightEnd;
+		final int[] targets;
+		final int[] weights;
+		final int maxWeight;
+		final boolean hasZeroWeight;
+
+		Split(AdjacencyArrayDirectedGraph graph, int delta, ForkJoinPool pool) {
+			int n = graph.getNbNodes();
+			int[] succTargets = graph.getSuccTargets();
+			int[] succWeights = graph.getSuccWeights();
+			this.offsets = graph.getSuccOffsets();
+			this.lightEnd = new int[n];
+			this.targets = new int[succTargets.length];
+			this.weights = new int[succWeights.length];
+			int max = 0;
+			boolean zero = false;
+			for (int w : succWeights) {
+				if (w < 0) {
+					throw new IllegalArgumentException("Delta-stepping needs non negative weights: " + w);
+				}
+				max = Math.max(max, w);
+				zero |= w == 0;
+			}
+			this.maxWeight = max;
+			this.hasZeroWeight = zero;
+			pool.submit(() -> IntStream.range(0, n).parallel().forEach(u -> {
+				int light = this.offsets[u];
+				int heavy = this.offsets[u + 1];
+				for (int i = this.offsets[u]; i < this.offsets[u + 1]; i++) {
+					int k = succWeights[i] <= delta ? light++ : --heavy;
+					this.targets[k] = succTargets[i];
+					this.weights[k] = succWeights[i];
+				}
+				this.lightEnd[u] = light;
+			})).join();
+		}
+	}
+
+	/**
+	 * Relaxes the light or heavy arcs of nodes[from..to-1]
+	 *
+	 * @return the nodes whose distance was lowered, possibly several times
+	 */
+	private static final class RelaxTask extends RecursiveTask<IntBag> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final Split split;
+		private final AtomicLongArray dist;
+		private final int[] nodes;
+		private final int from;
+		private final int to;
+		private final boolean light;
+
+		RelaxTask(Split split, AtomicLongArray dist, int[] nodes, int from, int to, boolean light) {
+			this.split = split;
+			this.dist = dist;
+			this.nodes = nodes;
+			this.from = from;
+			this.to = to;
+			this.light = light;
+		}
+
+		@Override
+		protected IntBag compute() {
+			if (this.to - this.from > PARALLEL_THRESHOLD) {
+				int mid = (this.from + this.to) >>> 1;
+				RelaxTask left = new RelaxTask(this.split, this.dist, this.nodes, this.from, mid, this.light);
+				left.fork();
+				IntBag right = new RelaxTask(this.split, this.dist, this.nodes, mid, this.to, this.light).compute();
+				IntBag result = left.join();
+				result.addAll(right);
+				return result;
+			}
+			IntBag improved = new IntBag();
+			for (int k = this.from; k < this.to; k++) {
+				int u = this.nodes[k];
+				long du = this.dist.get(u);
+				int start = this.light ? this.split.offsets[u] : this.split.lightEnd[u];
+				int end = this.light ? this.split.lightEnd[u] : this.split.offsets[u + 1];
+				for (int i = start; i < end; i++) {
+					int v = this.split.targets[i];
+					long candidate = du + this.split.weights[i];
+					long old = this.dist.get(v);
+					while (candidate < old) {
+						if (this.dist.compareAndSet(v, old, candidate)) {
+							improved.add(v);
+							break;
+						}
+						old = this.dist.get(v);
+					}
+				}
+			}
+			return improved;
+		}
+	}
+
+	/**
+	 * Growable array of node labels
+	 */
+	private static final class IntBag {
+		int[] items = new int[16];
+		int size;
+
+		void add(int v) {
+			if (this.size == this.items.length) {
+				this.items = Arrays.copyOf(this.items, 2 * this.size);
+			}
+			this.items[this.size++] = v;
+		}
+
+		void addAll(IntBag other) {
+			if (this.size + other.size > this.items.length) {
+				this.items = Arrays.copyOf(this.items, Math.max(2 * this.items.length, this.size + other.size));
+			}
+			System.arraycopy(other.items, 0, this.items, this.size, other.size);
+			this.size += other.size;
+		}
+
+		void clear() {
+			this.size = 0;
+		}
+	}
+
+	public static void main(String[] args) {
+		int[][] matrix = GraphTools.generateValuedGraphData(10, false, false, true, false, 100001);
+		AdjacencyArrayDirectedGraph small = new AdjacencyArrayDirectedGraph(matrix);
+		ShortestPathTree tree = run(small, 0);
+		System.out.println(tree);
+		System.out.println("Mêmes distances que Dijkstra ? "
+				+ Arrays.equals(tree.getDistances(), GraphToolsList.dijkstra(small, 0).getDistances()));
+
+		// Random graph of 200000 nodes, weights between 1 and 15
+		int n = 200000;
+		Random rand = new Random(42);
+		List<DirectedNode> nodes = new ArrayList<>();
+		for (int v = 0; v < n; v++) {
+			nodes.add(new DirectedNode(v));
+		}
+		AdjacencyListDirectedGraph al = new AdjacencyListDirectedGraph(nodes, new ArrayList<Arc>());
+		for (int k = 0; k < 8 * n; k++) {
+			al.addArc(nodes.get(rand.nextInt(n)), nodes.get(rand.nextInt(n)), 1 + rand.nextInt(15));
+		}
+		AdjacencyArrayDirectedGraph csr = new AdjacencyArrayDirectedGraph(al);
+		long start = System.nanoTime();
+		ShortestPathTree sequential = GraphToolsList.dijkstra(csr, 0);
+		long dijkstraTime = System.nanoTime() - start;
+		start = System.nanoTime();
+		ShortestPathTree parallel = run(csr, 0);
+		long deltaTime = System.nanoTime() - start;
+		System.out.println("Mêmes distances sur " + n + " noeuds ? "
+				+ Arrays.equals(sequential.getDistances(), parallel.getDistances()));
+		System.out.println("Dijkstra : " + dijkstraTime / 1000000 + " ms, delta-stepping : " + deltaTime / 1000000
+				+ " ms");
+	}
+
+}
@@ -0,0 +1,176 @@
+package GraphAlgorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import AdjacencyArray.AdjacencyArrayDirectedGraph;
+import AdjacencyList.AdjacencyListDirectedGraph;
+import Nodes_Edges.Arc;
+import Nodes_Edges.DirectedNode;
+
+/**
+ * Depth first search with an explicit stack, so that the depth of the graph is not
+ * limited by the call stack. An instance is the workspace of the runs: it holds the
+ * discovery/finish timestamps and the finishing order in primitive arrays, nothing
+ * is static, so several threads can explore graphs at the same time, each with its
+ * own instance.
+ * The successors are visited in the order of the compressed sparse rows, which is
+ * the order of getArcSucc(), so the timestamps are the ones of the recursive
+ * GraphToolsList.explorerSommet.
+ */
+public class DepthFirstSearch {
+
+	//--------------------------------------------------
+	// 				Class variables
+	//--------------------------------------------------
+
+	private final int nbNodes;
+	private final int[] discovery;		// début : timestamp when the node is reached, -1 if not visited
+	private final int[] finish;			// fin : timestamp when all the successors are explored
+	private final int[] finishOrder;	// the nodes in the order they are finished
+	private int nbFinished;
+	private final int[] stack;			// nodes being explored
+	private final int[] cursor;			// for each node of the stack, index of its next successor
+	private int time;
+
+	//--------------------------------------------------
+	// 				Constructors
+	//--------------------------------------------------
+
+	public DepthFirstSearch(int nbNodes) {
+		this.nbNodes = nbNodes;
+		this.discovery = new int[nbNodes];
+		this.finish = new int[nbNodes];
+		this.finishOrder = new int[nbNodes];
+		this.stack = new int[nbNodes];
+		this.cursor = new int[nbNodes];
+		this.reset();
+	}
+
+	// ------------------------------------------
+	// 				Accessors
+	// ------------------------------------------
+
+	/**
+	 * @return the discovery timestamps, -1 for the nodes not visited, must not be modified
+	 */
+	public int[] getDiscovery() {
+		return this.discovery;
+	}
+
+	/**
+	 * @return the finish timestamps, meaningful for the finished nodes, must not be modified
+	 */
+	public int[] getFinish() {
+		return this.finish;
+	}
+
+	/**
+	 * @return the labels of the finished nodes in their finishing order
+	 */
+	public int[] getFinishOrder() {
+		return Arrays.copyOf(this.finishOrder, this.nbFinished);
+	}
+
+	public int getNbFinished() {
+		return this.nbFinished;
+	}
+
+	public boolean isVisited(int v) {
+		return this.discovery[v] >= 0;
+	}
+
+	// ------------------------------------------
+	// 				Methods
+	// ------------------------------------------
+
+	/**
+	 * Forgets the previous runs
+	 */
+	public void reset() {
+		Arrays.fill(this.discovery, -1);
+		Arrays.fill(this.finish, -1);
+		this.nbFinished = 0;
+		this.time = 0;
+	}
+
+	/**
+	 * Explores the whole graph, starting a new tree from each node not visited yet
+	 * by increasing label. O(n + m)
+	 */
+	public DepthFirstSearch run(AdjacencyArrayDirectedGraph graph) {
+		checkSize(graph);
+		this.reset();
+		for (int v = 0; v < this.nbNodes; v++) {
+			if (this.discovery[v] < 0) {
+				this.explore(graph, v);
+			}
+		}
+		return this;
+	}
+
+	/**
+	 * Explores the nodes reachable from root which are not visited yet, the
+	 * timestamps continue those of the previous explorations since the last reset
+	 */
+	public void explore(AdjacencyArrayDirectedGraph graph, int root) {
+		checkSize(graph);
+		int[] offsets = graph.getSuccOffsets();
+		int[] targets = graph.getSuccTargets();
+		int top = 0;
+		this.discovery[root] = this.time++;
+		this.stack[top] = root;
+		this.cursor[top] = offsets[root];
+		top++;
+		while (top > 0) {
+			int u = this.stack[top - 1];
+			if (this.cursor[top - 1] < offsets[u + 1]) {
+				int v = targets[this.cursor[top - 1]++];
+				if (this.discovery[v] < 0) {
+					this.discovery[v] = this.time++;
+					this.stack[top] = v;
+					this.cursor[top] = offsets[v];
+					top++;
+				}
+			} else {
+				// Racine à la fin, parcours postfixe
+				top--;
+				this.finish[u] = this.time++;
+				this.finishOrder[this.nbFinished++] = u;
+			}
+		}
+	}
+
+	private void checkSize(AdjacencyArrayDirectedGraph graph) {
+		if (graph.getNbNodes() != this.nbNodes) {
+			throw new IllegalArgumentException("Workspace for " + this.nbNodes + " nodes used on a graph of "
+					+ graph.getNbNodes() + " nodes");
+		}
+	}
+
+	public static void main(String[] args) {
+		int[][] matrix = GraphTools.generateGraphData(10, 20, false, false, true, 100001);
+		AdjacencyArrayDirectedGraph graph = new AdjacencyArrayDirectedGraph(new AdjacencyListDirectedGraph(matrix));
+		DepthFirstSearch dfs = new DepthFirstSearch(graph.getNbNodes()).run(graph);
+		for (int v = 0; v < graph.getNbNodes(); v++) {
+			System.out.println("Node " + v + ": début=" + dfs.getDiscovery()[v] + ", fin=" + dfs.getFinish()[v]);
+		}
+		System.out.println("Ordre de fin : " + Arrays.toString(dfs.getFinishOrder()));
+
+		// A path of 200000 nodes, too deep for the recursive version
+		int n = 200000;
+		List<DirectedNode> nodes = new ArrayList<>();
+		for (int v = 0; v < n; v++) {
+			nodes.add(new DirectedNode(v));
+		}
+		AdjacencyListDirectedGraph al = new AdjacencyListDirectedGraph(nodes, new ArrayList<Arc>());
+		for (int v = 0; v + 1 < n; v++) {
+			al.addArc(nodes.get(v), nodes.get(v + 1));
+		}
+		AdjacencyArrayDirectedGraph longPath = new AdjacencyArrayDirectedGraph(al);
+		DepthFirstSearch deep = new DepthFirstSearch(longPath.getNbNodes()).run(longPath);
+		System.out.println("Chemin de " + n + " sommets, fin de la racine : " + deep.getFinish()[0]);
+	}
+
+}
@@ -0,0 +1,116 @@
+package GraphAlgorithms;
+
+import java.util.Arrays;
+
+/**
+ * Disjoint sets of the items 0..n-1 (union-find) in int arrays: each set is a tree
+ * given by the parent of each item, its root being the representative. find
+ * compresses the path to the root and union hangs the tree of lower rank under the
+ * other one, so that a sequence of operations costs O(alpha(n)) each, amortized.
+ */
+public class DisjointSet {
+
+	private final int[] parents;	// parent of each item, itself for a root
+	private final byte[] ranks;		// upper bound of the height of each root, below 32
+	private int nbSets;
+
+	public DisjointSet(int n) {
+		this.parents = new int[n];
+		for (int i = 0; i < n; i++) {
+			this.parents[i] = i;
+		}
+		this.ranks = new byte[n];
+		this.nbSets = n;
+	}
+
+	public int size() {
+		return this.parents.length;
+	}
+
+	public int getNbSets() {
+		return this.nbSets;
+	}
+
+	/**
+	 * @return the representative of the set of x, every item of the path to it being
+	 *         then hung directly under it
+	 */
+	public int find(int x) {
+		int root = x;
+		while (this.parents[root] != root) {
+			root = this.parents[root];
+		}
+		while (this.parents[x] != root) {
+			int next = this.parents[x];
+			this.parents[x] = root;
+			x = next;
+		}
+		return root;
+	}
+
+	/**
+	 * @return true if x and y are in the same set
+	 */
+	public boolean connected(int x, int y) {
+		return find(x) == find(y);
+	}
+
+	/**
+	 * Merges the sets of x and y
+	 *
+	 * @return true if they were distinct
+	 */
+	public boolean union(int x, int y) {
+		int rx = find(x);
+		int ry = find(y);
+		if (rx == ry) {
+			return false;
+		}
+		if (this.ranks[rx] < this.ranks[ry]) {
+			this.parents[rx] = ry;
+		} else if (this.ranks[rx] > this.ranks[ry]) {
+			this.parents[ry] = rx;
+		} else {
+			this.parents[ry] = rx;
+			this.ranks[rx]++;
+		}
+		this.nbSets--;
+		return true;
+	}
+
+	public String toString() {
+		return Arrays.toString(this.parents);
+	}
+
+	/**
+	 * Test to check the validity of the structure
+	 *
+	 * @return true if every rank is lower than the rank of the parent and the number
+	 *         of roots is the number of sets
+	 */
+	public boolean test() {
+		int roots = 0;
+		for (int x = 0; x < this.parents.length; x++) {
+			int p = this.parents[x];
+			if (p == x) {
+				roots++;
+			} else if (this.ranks[x] >= this.ranks[p]) {
+				return false;
+			}
+		}
+		return roots == this.nbSets;
+	}
+
+	public static void main(String[] args) {
+		DisjointSet sets = new DisjointSet(10);
+		System.out.println(sets + " " + sets.getNbSets() + " " + sets.test());
+		int[][] unions = { { 0, 1 }, { 2, 3 }, { 1, 3 }, { 4, 5 }, { 0, 2 }, { 6, 7 }, { 5, 7 }, { 8, 9 } };
+		for (int[] u : unions) {
+			boolean merged = sets.union(u[0], u[1]);
+			System.out.println("union " + u[0] + " " + u[1] + " : " + merged + " -> " + sets + " " + sets.test());
+		}
+		System.out.println(sets.getNbSets() + " ensembles, 0 et 3 : " + sets.connected(0, 3) + ", 3 et 4 : "
+				+ sets.connected(3, 4));
+	}
+
+}
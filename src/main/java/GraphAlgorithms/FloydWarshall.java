@@ -0,0 +1,354 @@
+package GraphAlgorithms;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import AdjacencyArray.AdjacencyArrayDirectedGraph;
+import AdjacencyMatrix.AdjacencyMatrixDirectedValuedGraph;
+
+/**
+ * Result of the all pairs shortest paths on a matrix of costs (0 meaning no arc),
+ * computed by a blocked Floyd-Warshall: the distances are a row-major copy of the
+ * matrix cut into square blocks, and for each block k of intermediate nodes
+ * - the diagonal block (k, k) is updated alone,
+ * - then the blocks of row k and of column k, which depend only on it, in parallel,
+ * - then all the other blocks, which depend only on the two previous phases, in
+ *   parallel.
+ * A block update reads three blocks which fit in the L2 cache, so the n^3 additions
+ * are no longer bound by the memory when the matrix does not fit in the cache. The
+ * blocks must be wide: the JIT vectorizes the loop along a row of a block, and on
+ * rows of 64 ints most of the time goes to its scalar pre- and post-loops.
+ * The optional next-hop matrix gives the paths.
+ */
+public class FloydWarshall {
+
+	//--------------------------------------------------
+	// 				Class variables
+	//--------------------------------------------------
+
+	public static final int UNREACHABLE = Integer.MAX_VALUE;	// distance between nodes without path
+	public static final int BLOCK_SIZE = 256;	// 3 blocks of 256x256 ints, 768 KB, fit in a 1 MB L2 cache
+
+	// Infini pendant le calcul : INF + INF ne déborde pas, et une somme au-dessus de
+	// INF / 2 (INF plus des poids négatifs) n'est pas un chemin
+	private static final int INF = Integer.MAX_VALUE / 2;
+
+	private final int nbNodes;
+	private final int[] distances;	// distances[u*nbNodes + v], UNREACHABLE if no path
+	private final int[] next;		// next[u*nbNodes + v] node after u on the path to v, -1 if none, null if not computed
+	private final boolean negativeCycle;
+
+	//--------------------------------------------------
+	// 				Constructors
+	//--------------------------------------------------
+
+	private FloydWarshall(int nbNodes, int[] distances, int[] next) {
+		this.nbNodes = nbNodes;
+		this.distances = distances;
+		this.next = next;
+		boolean negative = false;
+		for (int v = 0; v < nbNodes; v++) {
+			negative |= distances[v * nbNodes + v] < 0;
+		}
+		this.negativeCycle = negative;
+	}
+
+	// ------------------------------------------
+	// 				Accessors
+	// ------------------------------------------
+
+	public int getNbNodes() {
+		return this.nbNodes;
+	}
+
+	/**
+	 * @return the distance from u to v, UNREACHABLE if there is no path
+	 */
+	public int getDistance(int u, int v) {
+		return this.distances[u * this.nbNodes + v];
+	}
+
+	public boolean isReachable(int u, int v) {
+		return getDistance(u, v) != UNREACHABLE;
+	}
+
+	/**
+	 * @return the distances in row-major order, distances[u*n + v] from u to v, must
+	 *         not be modified
+	 */
+	public int[] getDistances() {
+		return this.distances;
+	}
+
+	/**
+	 * @return true if the graph has a cycle of negative weight, the distances being
+	 *         then meaningless
+	 */
+	public boolean hasNegativeCycle() {
+		return this.negativeCycle;
+	}
+
+	/**
+	 * @return true if the next-hop matrix was computed
+	 */
+	public boolean hasPaths() {
+		return this.next != null;
+	}
+
+	// ------------------------------------------
+	// 				Methods
+	// ------------------------------------------
+
+	/**
+	 * @return the labels of the nodes of a shortest path from u to v, empty if there
+	 *         is no path
+	 * @throws IllegalStateException if the next-hop matrix was not computed or if
+	 *                               there is a cycle of negative weight
+	 */
+	public int[] getPath(int u, int v) {
+		if (this.next == null) {
+			throw new IllegalStateException("Paths not computed, use run(graph, true)");
+		}
+		if (this.negativeCycle) {
+			throw new IllegalStateException("No shortest path with a cycle of negative weight");
+		}
+		if (!isReachable(u, v)) {
+			return new int[0];
+		}
+		int length = 1;
+		for (int w = u; w != v; w = this.next[w * this.nbNodes + v]) {
+			length++;
+		}
+		int[] path = new int[length];
+		int w = u;
+		for (int k = 0; k < length; k++) {
+			path[k] = w;
+			w = this.next[w * this.nbNodes + v];
+		}
+		return path;
+	}
+
+	/**
+	 * Floyd-Warshall without the paths, on the common fork-join pool
+	 */
+	public static FloydWarshall run(AdjacencyMatrixDirectedValuedGraph graph) {
+		return run(graph, false);
+	}
+
+	public static FloydWarshall run(AdjacencyMatrixDirectedValuedGraph graph, boolean withPaths) {
+		return run(graph, withPaths, BLOCK_SIZE, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * @param withPaths  true to compute the next-hop matrix, an int per pair more
+	 * @param blockSize  the side of the blocks, at least 1
+	 */
+	public static FloydWarshall run(AdjacencyMatrixDirectedValuedGraph graph, boolean withPaths, int blockSize,
+			ForkJoinPool pool) {
+		if (blockSize < 1) {
+			throw new IllegalArgumentException("Block size must be positive: " + blockSize);
+		}
+		int n = graph.getNbNodes();
+		if ((long) n * n > Integer.MAX_VALUE - 8) {
+			throw new IllegalArgumentException("Too many distances to store: " + n + " x " + n);
+		}
+		int[][] matrix = graph.getMatrix();
+		int[] d = new int[n * n];
+		int[] next = withPaths ? new int[n * n] : null;
+		for (int u = 0; u < n; u++) {
+			for (int v = 0; v < n; v++) {
+				int c = matrix[u][v];
+				d[u * n + v] = u == v ? 0 : c != 0 ? c : INF;
+				if (withPaths) {
+					next[u * n + v] = u == v || c != 0 ? v : -1;
+				}
+			}
+		}
+		int nbBlocks = (n + blockSize - 1) / blockSize;
+		for (int kb = 0; kb < nbBlocks; kb++) {
+			int k = kb;
+			// Phase 1 : bloc diagonal
+			relax(d, next, n, blockSize, k, k, k);
+			// Phase 2 : blocs de la ligne k et de la colonne k
+			pool.submit(() -> IntStream.range(0, 2 * nbBlocks).parallel().forEach(b -> {
+				int other = b % nbBlocks;
+				if (other != k) {
+					if (b < nbBlocks) {
+						relax(d, next, n, blockSize, k, other, k);
+					} else {
+						relax(d, next, n, blockSize, other, k, k);
+					}
+				}
+			})).join();
+			// Phase 3 : tous les autres blocs, indépendants entre eux
+			pool.submit(() -> IntStream.range(0, nbBlocks * nbBlocks).parallel().forEach(b -> {
+				int ib = b / nbBlocks;
+				int jb = b % nbBlocks;
+				if (ib != k && jb != k) {
+					relax(d, next, n, blockSize, ib, jb, k);
+				}
+			})).join();
+		}
+		for (int i = 0; i < n * n; i++) {
+			if (d[i] > INF / 2) {
+				d[i] = UNREACHABLE;
+				if (withPaths) {
+					next[i] = -1;
+				}
+			}
+		}
+		FloydWarshall result = new FloydWarshall(n, d, next);
+		if (withPaths && !result.negativeCycle) {
+			pool.submit(() -> IntStream.range(0, n).parallel().forEach(v -> {
+				if (hasLoop(next, n, v)) {
+					repair(matrix, d, next, n, v);
+				}
+			})).join();
+		}
+		return result;
+	}
+
+	/**
+	 * With a cycle of weight 0, the order of the blocks may give next hops towards v
+	 * which loop along the cycle, the distances being right
+	 *
+	 * @return true if following the next hops towards v loops
+	 */
+	private static boolean hasLoop(int[] next, int n, int v) {
+		byte[] state = new byte[n];	// 0 : pas vu, 1 : sur la marche en cours, 2 : mène à v
+		state[v] = 2;
+		for (int u = 0; u < n; u++) {
+			int w = u;
+			while (w >= 0 && state[w] == 0) {
+				state[w] = 1;
+				w = next[w * n + v];
+			}
+			if (w >= 0 && state[w] == 1) {
+				return true;
+			}
+			for (w = u; w >= 0 && state[w] == 1; w = next[w * n + v]) {
+				state[w] = 2;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Rebuilds the next hops towards v by a breadth first search from v over the
+	 * reversed tight arcs, c(w, x) + d(x, v) = d(w, v): each node gets a shortest path
+	 * with the fewest arcs, which can not loop. O(n^2).
+	 */
+	private static void repair(int[][] matrix, int[] d, int[] next, int n, int v) {
+		boolean[] visited = new boolean[n];
+		int[] queue = new int[n];
+		int head = 0;
+		int tail = 0;
+		queue[tail++] = v;
+		visited[v] = true;
+		while (head < tail) {
+			int x = queue[head++];
+			for (int w = 0; w < n; w++) {
+				int c = matrix[w][x];
+				int dw = d[w * n + v];
+				if (!visited[w] && c != 0 && dw != UNREACHABLE && c + d[x * n + v] == dw) {
+					visited[w] = true;
+					next[w * n + v] = x;
+					queue[tail++] = w;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Updates the block (ib, jb) with the intermediate nodes of the block kb, the
+	 * intermediate node being the outer loop so that the block may be (kb, jb),
+	 * (ib, kb) or (kb, kb)
+	 */
+	private static void relax(int[] d, int[] next, int n, int blockSize, int ib, int jb, int kb) {
+		int iEnd = Math.min(n, (ib + 1) * blockSize);
+		int jStart = jb * blockSize;
+		int jEnd = Math.min(n, jStart + blockSize);
+		int kEnd = Math.min(n, (kb + 1) * blockSize);
+		for (int k = kb * blockSize; k < kEnd; k++) {
+			int kRow = k * n;
+			for (int i = ib * blockSize; i < iEnd; i++) {
+				int iRow = i * n;
+				int dik = d[iRow + k];
+				if (dik > INF / 2) {
+					continue;
+				}
+				if (next == null) {
+					// Boucle sans branchement, vectorisable
+					for (int j = jStart; j < jEnd; j++) {
+						d[iRow + j] = Math.min(d[iRow + j], dik + d[kRow + j]);
+					}
+				} else {
+					int hop = next[iRow + k];
+					for (int j = jStart; j < jEnd; j++) {
+						int s = dik + d[kRow + j];
+						if (s < d[iRow + j]) {
+							d[iRow + j] = s;
+							next[iRow + j] = hop;
+						}
+					}
+				}
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder s = new StringBuilder();
+		for (int u = 0; u < this.nbNodes; u++) {
+			for (int v = 0; v < this.nbNodes; v++) {
+				s.append(isReachable(u, v) ? String.valueOf(getDistance(u, v)) : "inf").append("\t");
+			}
+			s.append("\n");
+		}
+		if (this.negativeCycle) {
+			s.append("Cycle de poids négatif\n");
+		}
+		return s.toString();
+	}
+
+	public static void main(String[] args) {
+		int[][] matrix = GraphTools.generateValuedGraphData(10, false, false, true, false, 100001);
+		AdjacencyMatrixDirectedValuedGraph am = new AdjacencyMatrixDirectedValuedGraph(matrix);
+		FloydWarshall fw = run(am, true, 4, ForkJoinPool.commonPool());
+		System.out.println(fw);
+		System.out.println("Chemin de 1 à 0 : " + Arrays.toString(fw.getPath(1, 0)));
+
+		// Échauffement du JIT sur 500 noeuds, pour ne pas mesurer la compilation
+		int[][] warmUp = GraphTools.generateValuedGraphData(500, false, false, true, false, 100001);
+		am = new AdjacencyMatrixDirectedValuedGraph(warmUp);
+		for (int k = 0; k < 3; k++) {
+			run(am);
+			run(am, false, 500, ForkJoinPool.commonPool());
+		}
+
+		// Comparaison avec Johnson sur 2000 noeuds, et avec des blocs de la taille du graphe :
+		// les blocs ne gagnent que si les 16 Mo de distances ne tiennent pas dans le cache
+		int n = 2000;
+		matrix = GraphTools.generateValuedGraphData(n, false, false, true, false, 100001);
+		am = new AdjacencyMatrixDirectedValuedGraph(matrix);
+		long start = System.nanoTime();
+		fw = run(am);
+		long blockedTime = System.nanoTime() - start;
+		start = System.nanoTime();
+		FloydWarshall flat = run(am, false, n, ForkJoinPool.commonPool());
+		long flatTime = System.nanoTime() - start;
+		boolean same = Arrays.equals(fw.getDistances(), flat.getDistances());
+		long[][] johnson = Johnson.distances(new AdjacencyArrayDirectedGraph(matrix));
+		for (int u = 0; u < n; u++) {
+			for (int v = 0; v < n; v++) {
+				long expected = johnson[u][v] == ShortestPathTree.UNREACHABLE ? UNREACHABLE : johnson[u][v];
+				same &= fw.getDistance(u, v) == expected;
+			}
+		}
+		System.out.println("Mêmes distances que Johnson ? " + same);
+		System.out.println("Blocs de " + BLOCK_SIZE + " : " + blockedTime / 1000000 + " ms, un seul bloc : "
+				+ flatTime / 1000000 + " ms");
+	}
+
+}
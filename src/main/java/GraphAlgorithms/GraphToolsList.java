@@ -1,6 +1,7 @@
 package GraphAlgorithms;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedList;
@@ -12,6 +13,7 @@ import java.util.Stack;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 
+import AdjacencyArray.AdjacencyArrayDirectedGraph;
 import AdjacencyList.AdjacencyListDirectedGraph;
 import AdjacencyList.AdjacencyListDirectedValuedGraph;
 import AdjacencyList.AdjacencyListUndirectedValuedGraph;
@@ -19,6 +21,7 @@ import Collection.Pair;
 import Collection.Triple;
 import Nodes_Edges.Arc;
 import Nodes_Edges.DirectedNode;
+import Nodes_Edges.NeighbourList;
 import Nodes_Edges.UndirectedNode;
 
 public class GraphToolsList extends GraphTools {
@@ -72,8 +75,46 @@ public class GraphToolsList extends GraphTools {
 		return result;
 	}
 
+	/**
+	 * Same BFS from node 0 on the compressed sparse row form: the queue is an int
+	 * array and the successors are read sequentially in memory.
+	 *
+	 * @return the labels of the visited nodes in the order of the traversal
+	 */
+	public static int[] bfs(AdjacencyArrayDirectedGraph graph) {
+		int n = graph.getNbNodes();
+		int[] offsets = graph.getSuccOffsets();
+		int[] targets = graph.getSuccTargets();
+		int[] fifo = new int[n];
+		boolean[] visited = new boolean[n];
+		int head = 0;
+		int tail = 0;
+
+		fifo[tail++] = 0;
+		visited[0] = true;
+
+		while (head < tail) {
+			int node = fifo[head++];
+			for (int i = offsets[node]; i < offsets[node + 1]; i++) {
+				int succ = targets[i];
+				if (!visited[succ]) {
+					fifo[tail++] = succ;
+					visited[succ] = true;
+				}
+			}
+		}
+		return Arrays.copyOf(fifo, tail);
+	}
+
 	// DFS
 
+	/**
+	 * Recursive exploration, limited by the depth of the call stack and using the
+	 * static counter cpt.
+	 *
+	 * @deprecated use DepthFirstSearch, iterative and with its own workspace
+	 */
+	@Deprecated
 	public static void explorerSommet(AdjacencyListDirectedGraph graph, DirectedNode node,
 			int[] visite, int[] debut, int[] fin, List<DirectedNode> ordreFin) {
 		visite[node.getLabel()] = 1;
@@ -94,19 +135,16 @@ public class GraphToolsList extends GraphTools {
 
 	// Complexité : O(V + E)
 	public static List<DirectedNode> explorerGraphe(AdjacencyListDirectedGraph graph) {
-		cpt = 0; // Réinitialiser le compteur pour les timestamps
-		int n = graph.getNbNodes();
-		int[] visite = new int[n];
-		int[] debut = new int[n];
-		int[] fin = new int[n];
+		// Parcours itératif sur la représentation CSR, avec son propre espace de travail
+		AdjacencyArrayDirectedGraph csr = new AdjacencyArrayDirectedGraph(graph);
+		DepthFirstSearch dfs = new DepthFirstSearch(csr.getNbNodes()).run(csr);
+		int[] debut = dfs.getDiscovery();
+		int[] fin = dfs.getFinish();
 		// Si x est exploré et que y est son successeur direct ou indirect,
 		// alors debut[x] < debut[y] et fin[x] > fin[y]
 		List<DirectedNode> ordreFin = new ArrayList<>();
-
-		for (DirectedNode node : graph.getNodes()) {
-			if (visite[node.getLabel()] == 0) {
-				explorerSommet(graph, node, visite, debut, fin, ordreFin);
-			}
+		for (int label : dfs.getFinishOrder()) {
+			ordreFin.add(graph.getNodes().get(label));
 		}
 
 		// Affichage ou traitement des timestamps si besoin
@@ -190,6 +228,247 @@ public class GraphToolsList extends GraphTools {
 		return new Pair<>(distances, predecessors);
 	}
 
+	/**
+	 * Dijkstra with an indexed d-ary heap instead of the scan of all the nodes to
+	 * find the closest one: O((n + m) log n).
+	 *
+	 * @param arity the number of children of each node of the heap (2 for a binary heap)
+	 */
+	public static Pair<Integer[], DirectedNode[]> dijkstra(AdjacencyListDirectedValuedGraph graph,
+			DirectedNode source, int arity) {
+		ShortestPathTree tree = dijkstraTree(graph, source, arity);
+		int n = graph.getNbNodes();
+		Integer[] distances = new Integer[n];
+		DirectedNode[] predecessors = new DirectedNode[n];
+		for (int i = 0; i < n; i++) {
+			distances[i] = tree.isReachable(i) ? (int) tree.getDistance(i) : Integer.MAX_VALUE;
+			predecessors[i] = tree.getParent(i) < 0 ? null : graph.getNodes().get(tree.getParent(i));
+		}
+		return new Pair<>(distances, predecessors);
+	}
+
+	/**
+	 * Same as dijkstra(graph, source, arity), the result being kept in primitive arrays
+	 */
+	public static ShortestPathTree dijkstraTree(AdjacencyListDirectedValuedGraph graph, DirectedNode source,
+			int arity) {
+		int n = graph.getNbNodes();
+		long[] distances = new long[n];
+		int[] parents = new int[n];
+		boolean[] visited = new boolean[n];
+		Arrays.fill(distances, ShortestPathTree.UNREACHABLE);
+		Arrays.fill(parents, -1);
+		IndexedDaryHeap heap = new IndexedDaryHeap(n, arity);
+		distances[source.getLabel()] = 0;
+		parents[source.getLabel()] = source.getLabel();
+		heap.insert(source.getLabel(), 0);
+		while (!heap.isEmpty()) {
+			int node = heap.remove();
+			visited[node] = true;
+			NeighbourList<Arc> succ = graph.getNodes().get(node).getArcSucc();
+			for (int i = 0; i < succ.size(); i++) {
+				int s = succ.getLabel(i);
+				long newDistance = distances[node] + succ.getWeight(i);
+				if (!visited[s] && newDistance < distances[s]) {
+					distances[s] = newDistance;
+					parents[s] = node;
+					heap.insertOrDecrease(s, newDistance);
+				}
+			}
+		}
+		return new ShortestPathTree(source.getLabel(), distances, parents);
+	}
+
+	/**
+	 * Dijkstra on the compressed sparse row form with a 4-ary indexed heap
+	 */
+	public static ShortestPathTree dijkstra(AdjacencyArrayDirectedGraph graph, int source) {
+		return dijkstra(graph, source, 4);
+	}
+
+	/**
+	 * Dijkstra on the compressed sparse row form, with an indexed d-ary heap and
+	 * primitive arrays for the distances and the parents. The weights must be non
+	 * negative, see BellmanFord otherwise.
+	 */
+	public static ShortestPathTree dijkstra(AdjacencyArrayDirectedGraph graph, int source, int arity) {
+		int n = graph.getNbNodes();
+		int[] offsets = graph.getSuccOffsets();
+		int[] targets = graph.getSuccTargets();
+		int[] weights = graph.getSuccWeights();
+		long[] distances = new long[n];
+		int[] parents = new int[n];
+		boolean[] visited = new boolean[n];
+		Arrays.fill(distances, ShortestPathTree.UNREACHABLE);
+		Arrays.fill(parents, -1);
+		IndexedDaryHeap heap = new IndexedDaryHeap(n, arity);
+		distances[source] = 0;
+		parents[source] = source;
+		heap.insert(source, 0);
+		while (!heap.isEmpty()) {
+			int node = heap.remove();
+			visited[node] = true;
+			for (int i = offsets[node]; i < offsets[node + 1]; i++) {
+				int succ = targets[i];
+				long newDistance = distances[node] + weights[i];
+				if (!visited[succ] && newDistance < distances[succ]) {
+					distances[succ] = newDistance;
+					parents[succ] = node;
+					heap.insertOrDecrease(succ, newDistance);
+				}
+			}
+		}
+		return new ShortestPathTree(source, distances, parents);
+	}
+
+	/**
+	 * Dijkstra with a bucket queue (Dial) for small integer weights: the nodes are
+	 * kept in C+1 circular buckets indexed by their distance modulo C+1, C being the
+	 * greatest weight, as doubly linked lists so that a node changes bucket in O(1).
+	 * O(m + n C).
+	 *
+	 * @throws IllegalArgumentException if an arc has a negative weight
+	 */
+	public static ShortestPathTree dial(AdjacencyArrayDirectedGraph graph, int source) {
+		int n = graph.getNbNodes();
+		int[] offsets = graph.getSuccOffsets();
+		int[] targets = graph.getSuccTargets();
+		int[] weights = graph.getSuccWeights();
+		int nbBuckets = checkWeights(weights) + 1;
+		long[] distances = new long[n];
+		int[] parents = new int[n];
+		Arrays.fill(distances, ShortestPathTree.UNREACHABLE);
+		Arrays.fill(parents, -1);
+		int[] head = new int[nbBuckets];	// first node of each bucket, -1 if empty
+		int[] next = new int[n];
+		int[] prev = new int[n];
+		boolean[] queued = new boolean[n];
+		Arrays.fill(head, -1);
+
+		distances[source] = 0;
+		parents[source] = source;
+		link(head, next, prev, 0, source);
+		queued[source] = true;
+		int nbQueued = 1;
+		long current = 0;
+		while (nbQueued > 0) {
+			int bucket = (int) (current % nbBuckets);
+			if (head[bucket] < 0) {
+				current++;
+				continue;
+			}
+			int node = head[bucket];
+			unlink(head, next, prev, bucket, node);
+			queued[node] = false;
+			nbQueued--;
+			for (int i = offsets[node]; i < offsets[node + 1]; i++) {
+				int succ = targets[i];
+				long newDistance = current + weights[i];
+				if (newDistance < distances[succ]) {
+					if (queued[succ]) {
+						unlink(head, next, prev, (int) (distances[succ] % nbBuckets), succ);
+					} else {
+						queued[succ] = true;
+						nbQueued++;
+					}
+					distances[succ] = newDistance;
+					parents[succ] = node;
+					link(head, next, prev, (int) (newDistance % nbBuckets), succ);
+				}
+			}
+		}
+		return new ShortestPathTree(source, distances, parents);
+	}
+
+	/**
+	 * Dial's algorithm on an adjacency list, through its compressed sparse row form
+	 */
+	public static ShortestPathTree dial(AdjacencyListDirectedValuedGraph graph, DirectedNode source) {
+		return dial(new AdjacencyArrayDirectedGraph(graph), source.getLabel());
+	}
+
+	private static void link(int[] head, int[] next, int[] prev, int bucket, int node) {
+		next[node] = head[bucket];
+		prev[node] = -1;
+		if (head[bucket] >= 0) {
+			prev[head[bucket]] = node;
+		}
+		head[bucket] = node;
+	}
+
+	private static void unlink(int[] head, int[] next, int[] prev, int bucket, int node) {
+		if (prev[node] >= 0) {
+			next[prev[node]] = next[node];
+		} else {
+			head[bucket] = next[node];
+		}
+		if (next[node] >= 0) {
+			prev[next[node]] = prev[node];
+		}
+	}
+
+	/**
+	 * @return the greatest weight
+	 * @throws IllegalArgumentException if a weight is negative
+	 */
+	private static int checkWeights(int[] weights) {
+		int max = 0;
+		for (int w : weights) {
+			if (w < 0) {
+				throw new IllegalArgumentException("Negative weight: " + w);
+			}
+			max = Math.max(max, w);
+		}
+		return max;
+	}
+
+	/**
+	 * Dijkstra with a radix heap, for integer weights at most C: O(m + n log C). The
+	 * nodes are inserted again when their distance is lowered and the old pairs are
+	 * skipped.
+	 *
+	 * @throws IllegalArgumentException if an arc has a negative weight
+	 */
+	public static ShortestPathTree dijkstraRadix(AdjacencyArrayDirectedGraph graph, int source) {
+		int n = graph.getNbNodes();
+		int[] offsets = graph.getSuccOffsets();
+		int[] targets = graph.getSuccTargets();
+		int[] weights = graph.getSuccWeights();
+		checkWeights(weights);
+		long[] distances = new long[n];
+		int[] parents = new int[n];
+		Arrays.fill(distances, ShortestPathTree.UNREACHABLE);
+		Arrays.fill(parents, -1);
+		RadixHeap heap = new RadixHeap();
+		distances[source] = 0;
+		parents[source] = source;
+		heap.insert(source, 0);
+		while (!heap.isEmpty()) {
+			int node = heap.remove();
+			if (heap.getLastKey() != distances[node]) {
+				continue; // ancienne paire, le noeud a déjà été traité
+			}
+			for (int i = offsets[node]; i < offsets[node + 1]; i++) {
+				int succ = targets[i];
+				long newDistance = distances[node] + weights[i];
+				if (newDistance < distances[succ]) {
+					distances[succ] = newDistance;
+					parents[succ] = node;
+					heap.insert(succ, newDistance);
+				}
+			}
+		}
+		return new ShortestPathTree(source, distances, parents);
+	}
+
+	/**
+	 * Dijkstra with a radix heap on an adjacency list, through its compressed sparse
+	 * row form
+	 */
+	public static ShortestPathTree dijkstraRadix(AdjacencyListDirectedValuedGraph graph, DirectedNode source) {
+		return dijkstraRadix(new AdjacencyArrayDirectedGraph(graph), source.getLabel());
+	}
+
 	public static void main(String[] args) {
 		int[][] Matrix = GraphTools.generateGraphData(10, 20, false, false, true, 100001);
 		GraphTools.afficherMatrix(Matrix);
@@ -223,5 +502,16 @@ public class GraphToolsList extends GraphTools {
 			System.out.println(
 					i + "\t" + distances[i] + "\t\t" + (predecessors[i] != null ? predecessors[i].getLabel() : "null"));
 		}
+		System.out.println("Représentation CSR");
+		AdjacencyArrayDirectedGraph csr = new AdjacencyArrayDirectedGraph(al);
+		System.out.println("BFS CSR : " + Arrays.toString(bfs(csr)));
+		System.out.println("Profondeurs BFS (direction optimisée) : "
+				+ Arrays.toString(BreadthFirstSearch.directionOptimizing(csr, 0).getDepths()));
+		ShortestPathTree tree = dijkstra(csr, 0);
+		System.out.println("Dijkstra CSR : " + Arrays.toString(tree.getDistances()));
+		System.out.println("Chemin de 0 à 1 : " + Arrays.toString(tree.getPath(1)));
+		System.out.println("Dijkstra tas 4-aire : " + Arrays.toString(dijkstra(al, source, 4).getLeft()));
+		System.out.println("Dial : " + Arrays.toString(dial(al, source).getDistances()));
+		System.out.println("Tas radix : " + Arrays.toString(dijkstraRadix(al, source).getDistances()));
 	}
 }
\ No newline at end of file
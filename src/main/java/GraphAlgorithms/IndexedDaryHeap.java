@@ -0,0 +1,230 @@
+package GraphAlgorithms;
+
+import java.util.Arrays;
+
+/**
+ * Min-heap of the items 0..capacity-1 (node labels) with a d-ary layout: the
+ * children of position p are at d*p+1 .. d*p+d. The position of each item is kept
+ * so that its key can be decreased in O(log_d n).
+ * The keys are long so that sums of int weights cannot overflow.
+ */
+public class IndexedDaryHeap {
+
+	private final int arity;
+	private int[] heap;		// items ordered by position in the heap
+	private int[] pos;		// position of each item in the heap, -1 if absent
+	private long[] keys;	// key of each item
+	private int size;
+
+	public IndexedDaryHeap(int capacity) {
+		this(capacity, 4);
+	}
+
+	public IndexedDaryHeap(int capacity, int arity) {
+		if (arity < 2) {
+			throw new IllegalArgumentException("The arity must be at least 2: " + arity);
+		}
+		this.arity = arity;
+		this.heap = new int[capacity];
+		this.pos = new int[capacity];
+		Arrays.fill(this.pos, -1);
+		this.keys = new long[capacity];
+		this.size = 0;
+	}
+
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	public int size() {
+		return this.size;
+	}
+
+	public int getArity() {
+		return this.arity;
+	}
+
+	/**
+	 * @return true if the item is in the heap
+	 */
+	public boolean contains(int item) {
+		return this.pos[item] >= 0;
+	}
+
+	/**
+	 * @return the key of the item, meaningful only if it is in the heap
+	 */
+	public long getKey(int item) {
+		return this.keys[item];
+	}
+
+	/**
+	 * @return the item with the least key, without removing it
+	 */
+	public int peek() {
+		return this.heap[0];
+	}
+
+	/**
+	 * Inserts an item which is not in the heap, O(log_d n)
+	 */
+	public void insert(int item, long key) {
+		this.keys[item] = key;
+		this.heap[this.size] = item;
+		this.pos[item] = this.size;
+		this.size++;
+		siftUp(this.size - 1);
+	}
+
+	/**
+	 * Lowers the key of an item of the heap, O(log_d n)
+	 */
+	public void decreaseKey(int item, long key) {
+		this.keys[item] = key;
+		siftUp(this.pos[item]);
+	}
+
+	/**
+	 * Inserts the item, or lowers its key if it is in the heap with a greater key
+	 *
+	 * @return true if the heap has changed
+	 */
+	public boolean insertOrDecrease(int item, long key) {
+		if (this.pos[item] < 0) {
+			insert(item, key);
+			return true;
+		}
+		if (key < this.keys[item]) {
+			decreaseKey(item, key);
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Removes the item with the least key, O(d log_d n)
+	 *
+	 * @return the removed item, -1 if the heap is empty
+	 */
+	public int remove() {
+		if (isEmpty()) {
+			return -1;
+		}
+		int min = this.heap[0];
+		this.size--;
+		this.pos[min] = -1;
+		if (this.size > 0) {
+			int last = this.heap[this.size];
+			this.heap[0] = last;
+			this.pos[last] = 0;
+			siftDown(0);
+		}
+		return min;
+	}
+
+	/**
+	 * Empties the heap in O(size), so that it can be reused for another run
+	 */
+	public void clear() {
+		for (int i = 0; i < this.size; i++) {
+			this.pos[this.heap[i]] = -1;
+		}
+		this.size = 0;
+	}
+
+	private void siftUp(int p) {
+		int item = this.heap[p];
+		long key = this.keys[item];
+		while (p > 0) {
+			int parent = (p - 1) / this.arity;
+			int parentItem = this.heap[parent];
+			if (this.keys[parentItem] <= key) {
+				break;
+			}
+			this.heap[p] = parentItem;
+			this.pos[parentItem] = p;
+			p = parent;
+		}
+		this.heap[p] = item;
+		this.pos[item] = p;
+	}
+
+	private void siftDown(int p) {
+		int item = this.heap[p];
+		long key = this.keys[item];
+		while (true) {
+			int first = this.arity * p + 1;
+			if (first >= this.size) {
+				break;
+			}
+			// the child having the least key
+			int best = first;
+			long bestKey = this.keys[this.heap[first]];
+			int end = Math.min(first + this.arity, this.size);
+			for (int c = first + 1; c < end; c++) {
+				long k = this.keys[this.heap[c]];
+				if (k < bestKey) {
+					best = c;
+					bestKey = k;
+				}
+			}
+			if (key <= bestKey) {
+				break;
+			}
+			int bestItem = this.heap[best];
+			this.heap[p] = bestItem;
+			this.pos[bestItem] = p;
+			p = best;
+		}
+		this.heap[p] = item;
+		this.pos[item] = p;
+	}
+
+	public String toString() {
+		StringBuilder s = new StringBuilder();
+		for (int i = 0; i < this.size; i++) {
+			s.append(this.heap[i]).append(":").append(this.keys[this.heap[i]]).append(", ");
+		}
+		return s.toString();
+	}
+
+	/**
+	 * Test to check the validity of the heap
+	 *
+	 * @return true if every item has a key at least equal to the key of its parent
+	 *         and its position is correctly recorded
+	 */
+	public boolean test() {
+		for (int p = 0; p < this.size; p++) {
+			if (this.pos[this.heap[p]] != p) {
+				return false;
+			}
+			if (p > 0 && this.keys[this.heap[(p - 1) / this.arity]] > this.keys[this.heap[p]]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public static void main(String[] args) {
+		IndexedDaryHeap heap = new IndexedDaryHeap(20, 4);
+		System.out.println(heap.isEmpty() + "\n");
+		int min = 2;
+		int max = 50;
+		for (int item = 0; item < 20; item++) {
+			int rand = min + (int) (Math.random() * ((max - min) + 1));
+			System.out.print("insert " + item + ":" + rand + " ");
+			heap.insert(item, rand);
+		}
+		System.out.println("\n" + heap);
+		System.out.println(heap.test());
+		heap.decreaseKey(7, 0);
+		System.out.println("decreaseKey 7:0 -> " + heap + " " + heap.test());
+		while (!heap.isEmpty()) {
+			long key = heap.getKey(heap.peek());
+			System.out.print("remove " + heap.remove() + ":" + key + " ");
+			System.out.println(heap.test());
+		}
+	}
+
+}
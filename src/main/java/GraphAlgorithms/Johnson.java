@@ -0,0 +1,187 @@
+package GraphAlgorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import AdjacencyArray.AdjacencyArrayDirectedGraph;
+import AdjacencyList.AdjacencyListDirectedGraph;
+import AdjacencyList.AdjacencyListDirectedValuedGraph;
+import Nodes_Edges.Arc;
+import Nodes_Edges.DirectedNode;
+
+/**
+ * All pairs shortest paths on sparse graphs with negative weights (Johnson): the
+ * potentials p of BellmanFord.potentials make every weight w(u, v) + p(u) - p(v) non
+ * negative, then a Dijkstra runs from each source on the reweighted arcs, the
+ * sources being shared between the threads of a fork-join pool.
+ * The rows of distances are not stored: each one is given to a RowConsumer as soon as
+ * it is computed, so that only one row per thread is held in memory.
+ * O(nm) for the potentials, then O(m log n) per source.
+ */
+public class Johnson {
+
+	/**
+	 * Receives the rows of distances, called concurrently by the threads of the pool
+	 */
+	public interface RowConsumer {
+
+		/**
+		 * @param row the distances from the source to every node,
+		 *            ShortestPathTree.UNREACHABLE if not reached: the array is reused
+		 *            for the next source of the thread and must be copied to be kept
+		 */
+		void accept(int source, long[] row);
+	}
+
+	private static final long INF = ShortestPathTree.UNREACHABLE;
+
+	/**
+	 * Johnson from every node on the common fork-join pool
+	 *
+	 * @throws IllegalArgumentException if the graph has a cycle of negative weight
+	 */
+	public static void run(AdjacencyArrayDirectedGraph graph, RowConsumer consumer) {
+		run(graph, IntStream.range(0, graph.getNbNodes()).toArray(), consumer, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Johnson from the given sources, each row being given to the consumer by the
+	 * thread which computed it, in no particular order
+	 *
+	 * @throws IllegalArgumentException if the graph has a cycle of negative weight
+	 */
+	public static void run(AdjacencyArrayDirectedGraph graph, int[] sources, RowConsumer consumer,
+			ForkJoinPool pool) {
+		int n = graph.getNbNodes();
+		int[] offsets = graph.getSuccOffsets();
+		int[] targets = graph.getSuccTargets();
+		int[] weights = graph.getSuccWeights();
+		long[] potentials = BellmanFord.potentials(graph);
+		// Poids repondérés, positifs ou nuls
+		long[] reduced = new long[graph.getNbArcs()];
+		for (int u = 0; u < n; u++) {
+			for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+				reduced[i] = weights[i] + potentials[u] - potentials[targets[i]];
+			}
+		}
+		ThreadLocal<Workspace> workspaces = ThreadLocal.withInitial(() -> new Workspace(n));
+		pool.submit(() -> IntStream.of(sources).parallel().forEach(source -> {
+			Workspace w = workspaces.get();
+			w.dijkstra(offsets, targets, reduced, source);
+			long[] row = w.distances;
+			for (int v = 0; v < n; v++) {
+				if (row[v] != INF) {
+					row[v] += potentials[v] - potentials[source];
+				}
+			}
+			consumer.accept(source, row);
+		})).join();
+	}
+
+	/**
+	 * Johnson from every node of an adjacency list, through its compressed sparse row
+	 * form
+	 */
+	public static void run(AdjacencyListDirectedValuedGraph graph, RowConsumer consumer) {
+		run(new AdjacencyArrayDirectedGraph(graph), consumer);
+	}
+
+	/**
+	 * All the distances in a matrix, for small graphs only: n rows of n longs
+	 *
+	 * @return distances[s][v] from s to v, ShortestPathTree.UNREACHABLE if not reached
+	 * @throws IllegalArgumentException if the graph has a cycle of negative weight
+	 */
+	public static long[][] distances(AdjacencyArrayDirectedGraph graph) {
+		long[][] distances = new long[graph.getNbNodes()][];
+		run(graph, (source, row) -> distances[source] = row.clone());
+		return distances;
+	}
+
+	/**
+	 * Arrays of a Dijkstra run, reused by a thread from one source to the next
+	 */
+	private static final class Workspace {
+		final long[] distances;
+		final boolean[] visited;
+		final IndexedDaryHeap heap;
+
+		Workspace(int n) {
+			this.distances = new long[n];
+			this.visited = new boolean[n];
+			this.heap = new IndexedDaryHeap(n);
+		}
+
+		void dijkstra(int[] offsets, int[] targets, long[] weights, int source) {
+			Arrays.fill(this.distances, INF);
+			Arrays.fill(this.visited, false);
+			this.distances[source] = 0;
+			this.heap.insert(source, 0);
+			while (!this.heap.isEmpty()) {
+				int node = this.heap.remove();
+				this.visited[node] = true;
+				for (int i = offsets[node]; i < offsets[node + 1]; i++) {
+					int succ = targets[i];
+					long newDistance = this.distances[node] + weights[i];
+					if (!this.visited[succ] && newDistance < this.distances[succ]) {
+						this.distances[succ] = newDistance;
+						this.heap.insertOrDecrease(succ, newDistance);
+					}
+				}
+			}
+		}
+	}
+
+	public static void main(String[] args) {
+		int[][] matrix = GraphTools.generateValuedGraphData(8, false, false, true, true, 100002);
+		GraphTools.afficherMatrix(matrix);
+		AdjacencyArrayDirectedGraph small = new AdjacencyArrayDirectedGraph(matrix);
+		try {
+			long[][] distances = distances(small);
+			for (long[] row : distances) {
+				System.out.println(Arrays.toString(row));
+			}
+		} catch (IllegalArgumentException e) {
+			System.out.println(e.getMessage());
+		}
+
+		// Graphe aléatoire de 2000 noeuds sans cycle négatif : poids entre 1 et 15
+		// décalés par un potentiel h, w(u, v) + h(u) - h(v)
+		int n = 2000;
+		Random rand = new Random(42);
+		int[] h = new int[n];
+		List<DirectedNode> nodes = new ArrayList<>();
+		for (int v = 0; v < n; v++) {
+			nodes.add(new DirectedNode(v));
+			h[v] = rand.nextInt(20);
+		}
+		AdjacencyListDirectedGraph al = new AdjacencyListDirectedGraph(nodes, new ArrayList<Arc>());
+		for (int k = 0; k < 5 * n; k++) {
+			int u = rand.nextInt(n);
+			int v = rand.nextInt(n);
+			al.addArc(nodes.get(u), nodes.get(v), 1 + rand.nextInt(15) + h[u] - h[v]);
+		}
+		AdjacencyArrayDirectedGraph csr = new AdjacencyArrayDirectedGraph(al);
+		AtomicLong checksum = new AtomicLong();
+		long start = System.nanoTime();
+		run(csr, (source, row) -> {
+			long sum = 0;
+			for (long d : row) {
+				sum += d == INF ? 0 : d;
+			}
+			checksum.addAndGet(sum);
+		});
+		System.out.println("Johnson sur " + n + " noeuds : " + (System.nanoTime() - start) / 1000000
+				+ " ms, somme des distances " + checksum.get());
+		long[] row = BellmanFord.spfa(csr, 0).getDistances();
+		boolean[] same = new boolean[1];
+		run(csr, new int[] { 0 }, (source, r) -> same[0] = Arrays.equals(r, row), ForkJoinPool.commonPool());
+		System.out.println("Même ligne que SPFA depuis 0 ? " + same[0]);
+	}
+
+}
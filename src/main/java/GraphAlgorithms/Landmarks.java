@@ -0,0 +1,461 @@
+package GraphAlgorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import AdjacencyArray.AdjacencyArrayDirectedGraph;
+import AdjacencyList.AdjacencyListDirectedGraph;
+import AdjacencyList.AdjacencyListDirectedValuedGraph;
+import Nodes_Edges.Arc;
+import Nodes_Edges.DirectedNode;
+
+/**
+ * Preprocessing of the ALT point to point queries (A*, landmarks, triangle
+ * inequality): the distances from and to a few landmarks L give, by the triangle
+ * inequality, the lower bound max(d(L,t) - d(L,v), d(v,L) - d(t,L)) of the distance
+ * from v to t. An A* search guided by this bound settles mostly the nodes towards
+ * the target.
+ * The distances are kept in two long arrays of k rows of n cells, the graph in its
+ * compressed sparse row form with non negative weights.
+ */
+public class Landmarks {
+
+	//--------------------------------------------------
+	// 				Class variables
+	//--------------------------------------------------
+
+	private static final long INF = ShortestPathTree.UNREACHABLE;
+
+	private final AdjacencyArrayDirectedGraph graph;
+	private final int nbNodes;
+	private final int[] landmarks;
+	private final long[] fromLandmarks;	// fromLandmarks[i*n + v] = d(landmarks[i], v)
+	private final long[] toLandmarks;	// toLandmarks[i*n + v] = d(v, landmarks[i])
+
+	//--------------------------------------------------
+	// 				Constructors
+	//--------------------------------------------------
+
+	/**
+	 * Computes the distance tables of the given landmarks, 2k runs of Dijkstra
+	 */
+	public Landmarks(AdjacencyArrayDirectedGraph graph, int[] landmarks) {
+		this.graph = graph;
+		this.nbNodes = graph.getNbNodes();
+		this.landmarks = landmarks.clone();
+		this.fromLandmarks = new long[landmarks.length * this.nbNodes];
+		this.toLandmarks = new long[landmarks.length * this.nbNodes];
+		for (int i = 0; i < landmarks.length; i++) {
+			System.arraycopy(forward(graph, landmarks[i]), 0, this.fromLandmarks, i * this.nbNodes, this.nbNodes);
+			System.arraycopy(backward(graph, landmarks[i]), 0, this.toLandmarks, i * this.nbNodes, this.nbNodes);
+		}
+	}
+
+	private Landmarks(AdjacencyArrayDirectedGraph graph, int[] landmarks, long[] fromLandmarks, long[] toLandmarks) {
+		this.graph = graph;
+		this.nbNodes = graph.getNbNodes();
+		this.landmarks = landmarks;
+		this.fromLandmarks = fromLandmarks;
+		this.toLandmarks = toLandmarks;
+	}
+
+	/**
+	 * @return the landmarks of this one and the given node, only the tables of the new
+	 *         landmark are computed
+	 */
+	private Landmarks with(int landmark) {
+		int k = this.landmarks.length;
+		int n = this.nbNodes;
+		int[] landmarks = Arrays.copyOf(this.landmarks, k + 1);
+		landmarks[k] = landmark;
+		long[] from = Arrays.copyOf(this.fromLandmarks, (k + 1) * n);
+		long[] to = Arrays.copyOf(this.toLandmarks, (k + 1) * n);
+		System.arraycopy(forward(this.graph, landmark), 0, from, k * n, n);
+		System.arraycopy(backward(this.graph, landmark), 0, to, k * n, n);
+		return new Landmarks(this.graph, landmarks, from, to);
+	}
+
+	// ------------------------------------------
+	// 				Accessors
+	// ------------------------------------------
+
+	public int getNbLandmarks() {
+		return this.landmarks.length;
+	}
+
+	/**
+	 * @return the label of the i-th landmark
+	 */
+	public int getLandmark(int i) {
+		return this.landmarks[i];
+	}
+
+	/**
+	 * @return the lower bound of the distance from v to t given by the landmarks,
+	 *         ShortestPathTree.UNREACHABLE if they prove that t can not be reached
+	 *         from v
+	 */
+	public long getLowerBound(int v, int t) {
+		long bound = 0;
+		for (int i = 0, row = 0; i < this.landmarks.length; i++, row += this.nbNodes) {
+			long fromV = this.fromLandmarks[row + v];
+			long fromT = this.fromLandmarks[row + t];
+			long toV = this.toLandmarks[row + v];
+			long toT = this.toLandmarks[row + t];
+			if ((fromT == INF && fromV != INF) || (toV == INF && toT != INF)) {
+				return INF; // L atteint v mais pas t, ou t atteint L mais pas v
+			}
+			if (fromT != INF) {
+				bound = Math.max(bound, fromT - fromV);
+			}
+			if (toV != INF) {
+				bound = Math.max(bound, toV - toT);
+			}
+		}
+		return bound;
+	}
+
+	// ------------------------------------------
+	// 				Methods
+	// ------------------------------------------
+
+	/**
+	 * Farthest selection: the first landmark is the node farthest from a random node,
+	 * each next one is the node whose distance to the closest chosen landmark (in
+	 * both directions) is the greatest. The nodes not connected to the chosen
+	 * landmarks are chosen first.
+	 *
+	 * @throws IllegalArgumentException if k is not positive or the graph is empty
+	 */
+	public static Landmarks farthest(AdjacencyArrayDirectedGraph graph, int k, long seed) {
+		int n = graph.getNbNodes();
+		checkSelection(k, n);
+		k = Math.min(k, n);
+		int[] chosen = new int[k];
+		long[] closest = new long[n];	// distance to the closest landmark, INF if none is connected
+		Arrays.fill(closest, INF);
+		int start = new Random(seed).nextInt(n);
+		chosen[0] = farthestNode(forward(graph, start), start);
+		for (int i = 0; i < k; i++) {
+			if (i > 0) {
+				chosen[i] = farthestNode(closest, chosen[i - 1]);
+			}
+			long[] from = forward(graph, chosen[i]);
+			long[] to = backward(graph, chosen[i]);
+			for (int v = 0; v < n; v++) {
+				long d = Math.min(from[v], to[v]);
+				closest[v] = Math.min(closest[v], d);
+			}
+		}
+		return new Landmarks(graph, chosen);
+	}
+
+	/**
+	 * Avoid selection (Goldberg and Harrelson): a shortest path tree is grown from a
+	 * random root, each node weighing the gap between its distance and the lower
+	 * bound given by the landmarks already chosen. The subtrees holding a landmark
+	 * weigh nothing, and the next landmark is the leaf reached from the heaviest
+	 * subtree by always going to the heaviest child: it covers the part of the graph
+	 * where the bounds are the worst.
+	 *
+	 * @throws IllegalArgumentException if k is not positive or the graph is empty
+	 */
+	public static Landmarks avoid(AdjacencyArrayDirectedGraph graph, int k, long seed) {
+		int n = graph.getNbNodes();
+		checkSelection(k, n);
+		k = Math.min(k, n);
+		Random rand = new Random(seed);
+		List<Integer> chosen = new ArrayList<>();
+		int start = rand.nextInt(n);
+		chosen.add(farthestNode(forward(graph, start), start));
+		Landmarks current = new Landmarks(graph, new int[] { chosen.get(0) });
+		while (chosen.size() < k) {
+			int root = rand.nextInt(n);
+			ShortestPathTree tree = GraphToolsList.dijkstra(graph, root);
+			int[] order = treeOrder(tree);
+			long[] size = new long[n];
+			boolean[] hasLandmark = new boolean[n];
+			for (int l : chosen) {
+				hasLandmark[l] = true;
+			}
+			// Des feuilles vers la racine : poids des sous-arbres sans repère
+			for (int j = order.length - 1; j >= 0; j--) {
+				int v = order[j];
+				if (!hasLandmark[v]) {
+					long bound = current.getLowerBound(root, v);
+					size[v] += tree.getDistance(v) - (bound == INF ? 0 : bound);
+				} else {
+					size[v] = 0;
+				}
+				int p = tree.getParent(v);
+				if (v != root) {
+					if (hasLandmark[v]) {
+						hasLandmark[p] = true;
+					}
+					size[p] += size[v];
+				}
+			}
+			int leaf = heaviestLeaf(graph, tree, size, chosen);
+			if (leaf < 0) {
+				break;
+			}
+			chosen.add(leaf);
+			current = current.with(leaf);
+		}
+		return current;
+	}
+
+	/**
+	 * Farthest selection on an adjacency list, through its compressed sparse row form
+	 */
+	public static Landmarks farthest(AdjacencyListDirectedValuedGraph graph, int k, long seed) {
+		return farthest(new AdjacencyArrayDirectedGraph(graph), k, seed);
+	}
+
+	/**
+	 * Avoid selection on an adjacency list, through its compressed sparse row form
+	 */
+	public static Landmarks avoid(AdjacencyListDirectedValuedGraph graph, int k, long seed) {
+		return avoid(new AdjacencyArrayDirectedGraph(graph), k, seed);
+	}
+
+	/**
+	 * A* search from source to target with the lower bounds of the landmarks as
+	 * potential. The bounds being consistent, each node is settled at most once.
+	 */
+	public PointToPointPath query(int source, int target) {
+		int n = this.nbNodes;
+		int[] offsets = this.graph.getSuccOffsets();
+		int[] targets = this.graph.getSuccTargets();
+		int[] weights = this.graph.getSuccWeights();
+		long[] distances = new long[n];
+		long[] bounds = new long[n];	// lower bound to the target, -1 if not computed yet
+		int[] parents = new int[n];
+		boolean[] visited = new boolean[n];
+		Arrays.fill(distances, INF);
+		Arrays.fill(bounds, -1);
+		Arrays.fill(parents, -1);
+		IndexedDaryHeap heap = new IndexedDaryHeap(n);
+		distances[source] = 0;
+		parents[source] = source;
+		int nbSettled = 0;
+		bounds[source] = getLowerBound(source, target);
+		if (bounds[source] != INF) {
+			heap.insert(source, bounds[source]);
+		}
+		while (!heap.isEmpty()) {
+			int node = heap.remove();
+			visited[node] = true;
+			nbSettled++;
+			if (node == target) {
+				break;
+			}
+			for (int i = offsets[node]; i < offsets[node + 1]; i++) {
+				int succ = targets[i];
+				long newDistance = distances[node] + weights[i];
+				if (visited[succ] || newDistance >= distances[succ]) {
+					continue;
+				}
+				if (bounds[succ] < 0) {
+					bounds[succ] = getLowerBound(succ, target);
+				}
+				if (bounds[succ] == INF) {
+					continue; // la cible n'est pas accessible depuis succ
+				}
+				distances[succ] = newDistance;
+				parents[succ] = node;
+				heap.insertOrDecrease(succ, newDistance + bounds[succ]);
+			}
+		}
+		ShortestPathTree tree = new ShortestPathTree(source, distances, parents);
+		long distance = visited[target] ? distances[target] : INF;
+		return new PointToPointPath(source, target, distance, tree.getPath(target), nbSettled);
+	}
+
+	/**
+	 * A* query on the nodes of an adjacency list
+	 */
+	public PointToPointPath query(DirectedNode source, DirectedNode target) {
+		return query(source.getLabel(), target.getLabel());
+	}
+
+	private static void checkSelection(int k, int n) {
+		if (k < 1) {
+			throw new IllegalArgumentException("Number of landmarks must be positive: " + k);
+		}
+		if (n < 1) {
+			throw new IllegalArgumentException("No node to choose landmarks from");
+		}
+	}
+
+	/**
+	 * @return the distances from root over the successors
+	 */
+	private static long[] forward(AdjacencyArrayDirectedGraph graph, int root) {
+		return distances(graph.getNbNodes(), graph.getSuccOffsets(), graph.getSuccTargets(), graph.getSuccWeights(),
+				root);
+	}
+
+	/**
+	 * @return the distances to root, computed over the predecessors
+	 */
+	private static long[] backward(AdjacencyArrayDirectedGraph graph, int root) {
+		return distances(graph.getNbNodes(), graph.getPredOffsets(), graph.getPredSources(), graph.getPredWeights(),
+				root);
+	}
+
+	private static long[] distances(int n, int[] offsets, int[] targets, int[] weights, int root) {
+		long[] distances = new long[n];
+		boolean[] visited = new boolean[n];
+		Arrays.fill(distances, INF);
+		IndexedDaryHeap heap = new IndexedDaryHeap(n);
+		distances[root] = 0;
+		heap.insert(root, 0);
+		while (!heap.isEmpty()) {
+			int node = heap.remove();
+			visited[node] = true;
+			for (int i = offsets[node]; i < offsets[node + 1]; i++) {
+				int next = targets[i];
+				long newDistance = distances[node] + weights[i];
+				if (!visited[next] && newDistance < distances[next]) {
+					distances[next] = newDistance;
+					heap.insertOrDecrease(next, newDistance);
+				}
+			}
+		}
+		return distances;
+	}
+
+	/**
+	 * @return the node with the greatest distance, the unreachable ones first, other
+	 *         than exclude if possible
+	 */
+	private static int farthestNode(long[] distances, int exclude) {
+		int best = exclude;
+		for (int v = 0; v < distances.length; v++) {
+			if (v != exclude && (best == exclude || distances[v] > distances[best])) {
+				best = v;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * @return the reached nodes of the tree, each one after its parent
+	 */
+	private static int[] treeOrder(ShortestPathTree tree) {
+		int n = tree.getNbNodes();
+		int[] childOffsets = new int[n + 1];
+		for (int v = 0; v < n; v++) {
+			if (tree.isReachable(v) && v != tree.getSource()) {
+				childOffsets[tree.getParent(v) + 1]++;
+			}
+		}
+		for (int v = 0; v < n; v++) {
+			childOffsets[v + 1] += childOffsets[v];
+		}
+		int[] children = new int[childOffsets[n]];
+		int[] next = Arrays.copyOf(childOffsets, n);
+		for (int v = 0; v < n; v++) {
+			if (tree.isReachable(v) && v != tree.getSource()) {
+				children[next[tree.getParent(v)]++] = v;
+			}
+		}
+		int[] order = new int[childOffsets[n] + 1];
+		int head = 0;
+		int tail = 0;
+		order[tail++] = tree.getSource();
+		while (head < tail) {
+			int u = order[head++];
+			for (int i = childOffsets[u]; i < childOffsets[u + 1]; i++) {
+				order[tail++] = children[i];
+			}
+		}
+		return order;
+	}
+
+	/**
+	 * @return the leaf reached from the heaviest subtree by the heaviest children, -1
+	 *         if every subtree weighs nothing
+	 */
+	private static int heaviestLeaf(AdjacencyArrayDirectedGraph graph, ShortestPathTree tree, long[] size,
+			List<Integer> chosen) {
+		int v = 0;
+		for (int w = 1; w < size.length; w++) {
+			if (size[w] > size[v]) {
+				v = w;
+			}
+		}
+		if (size[v] <= 0) {
+			return -1;
+		}
+		int[] offsets = graph.getSuccOffsets();
+		int[] targets = graph.getSuccTargets();
+		while (true) {
+			int best = -1;
+			for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+				int w = targets[i];
+				if (w != v && tree.getParent(w) == v && size[w] > 0 && (best < 0 || size[w] > size[best])) {
+					best = w;
+				}
+			}
+			if (best < 0) {
+				return chosen.contains(v) ? -1 : v;
+			}
+			v = best;
+		}
+	}
+
+	public static void main(String[] args) {
+		int[][] matrix = GraphTools.generateValuedGraphData(10, false, false, true, false, 100001);
+		AdjacencyArrayDirectedGraph small = new AdjacencyArrayDirectedGraph(matrix);
+		Landmarks smallLandmarks = farthest(small, 2, 42);
+		System.out.println("Repères : " + smallLandmarks.getLandmark(0) + ", " + smallLandmarks.getLandmark(1));
+		System.out.println(smallLandmarks.query(0, 9));
+		System.out.println(PointToPointPath.dijkstra(small, 0, 9));
+
+		// Grid of 300x300 nodes, as a road network, weights between 1 and 15
+		int side = 300;
+		int n = side * side;
+		Random rand = new Random(42);
+		List<DirectedNode> nodes = new ArrayList<>();
+		for (int v = 0; v < n; v++) {
+			nodes.add(new DirectedNode(v));
+		}
+		AdjacencyListDirectedGraph al = new AdjacencyListDirectedGraph(nodes, new ArrayList<Arc>());
+		for (int v = 0; v < n; v++) {
+			if (v % side + 1 < side) {
+				al.addArc(nodes.get(v), nodes.get(v + 1), 1 + rand.nextInt(15));
+				al.addArc(nodes.get(v + 1), nodes.get(v), 1 + rand.nextInt(15));
+			}
+			if (v + side < n) {
+				al.addArc(nodes.get(v), nodes.get(v + side), 1 + rand.nextInt(15));
+				al.addArc(nodes.get(v + side), nodes.get(v), 1 + rand.nextInt(15));
+			}
+		}
+		AdjacencyArrayDirectedGraph grid = new AdjacencyArrayDirectedGraph(al);
+		Landmarks far = farthest(grid, 8, 1);
+		Landmarks avoided = avoid(grid, 8, 1);
+		int settledDijkstra = 0;
+		int settledFarthest = 0;
+		int settledAvoid = 0;
+		boolean same = true;
+		for (int q = 0; q < 20; q++) {
+			int s = rand.nextInt(n);
+			int t = rand.nextInt(n);
+			PointToPointPath reference = PointToPointPath.dijkstra(grid, s, t);
+			PointToPointPath a = far.query(s, t);
+			PointToPointPath b = avoided.query(s, t);
+			same &= reference.getDistance() == a.getDistance() && reference.getDistance() == b.getDistance();
+			settledDijkstra += reference.getNbSettled();
+			settledFarthest += a.getNbSettled();
+			settledAvoid += b.getNbSettled();
+		}
+		System.out.println("Mêmes distances sur 20 requêtes ? " + same);
+		System.out.println("Noeuds traités : " + settledDijkstra + " (Dijkstra), " + settledFarthest
+				+ " (ALT farthest), " + settledAvoid + " (ALT avoid)");
+	}
+
+}
@@ -0,0 +1,225 @@
+package GraphAlgorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import AdjacencyArray.AdjacencyArrayDirectedGraph;
+import AdjacencyList.AdjacencyListDirectedGraph;
+import Nodes_Edges.Arc;
+import Nodes_Edges.DirectedNode;
+
+/**
+ * Hop distances from many sources, computed by a bit-parallel breadth first search
+ * (MS-BFS): the sources are processed by batches of 64*lanes, each node holding one
+ * bit per source of the batch in lanes long words. A level ORs the bits of each
+ * frontier node into its successors, so a single scan of an adjacency row serves
+ * every source of the batch having the node in its frontier.
+ * The distances are stored in a single int array, one row of n cells per source.
+ */
+public class MultiSourceBfs {
+
+	//--------------------------------------------------
+	// 				Class variables
+	//--------------------------------------------------
+
+	private final int nbNodes;
+	private final int[] sources;
+	private final int[] distances;	// distances[i*nbNodes + v] from sources[i] to v, -1 if not reached
+
+	//--------------------------------------------------
+	// 				Constructors
+	//--------------------------------------------------
+
+	private MultiSourceBfs(int nbNodes, int[] sources) {
+		long size = (long) nbNodes * sources.length;
+		if (size > Integer.MAX_VALUE - 8) {
+			throw new IllegalArgumentException("Too many distances to store: " + sources.length + " sources x "
+					+ nbNodes + " nodes");
+		}
+		this.nbNodes = nbNodes;
+		this.sources = sources.clone();
+		this.distances = new int[(int) size];
+		Arrays.fill(this.distances, -1);
+	}
+
+	// ------------------------------------------
+	// 				Accessors
+	// ------------------------------------------
+
+	public int getNbNodes() {
+		return this.nbNodes;
+	}
+
+	public int getNbSources() {
+		return this.sources.length;
+	}
+
+	/**
+	 * @return the label of the i-th source
+	 */
+	public int getSource(int i) {
+		return this.sources[i];
+	}
+
+	/**
+	 * @return the number of arcs from the i-th source to v, -1 if v is not reached
+	 */
+	public int getDistance(int i, int v) {
+		return this.distances[i * this.nbNodes + v];
+	}
+
+	/**
+	 * @return a copy of the distances from the i-th source
+	 */
+	public int[] getDistances(int i) {
+		return Arrays.copyOfRange(this.distances, i * this.nbNodes, (i + 1) * this.nbNodes);
+	}
+
+	/**
+	 * @return the sum of the distances from the i-th source to the nodes it reaches,
+	 *         for closeness scores
+	 */
+	public long getFarness(int i) {
+		long sum = 0;
+		for (int k = i * this.nbNodes, end = k + this.nbNodes; k < end; k++) {
+			if (this.distances[k] > 0) {
+				sum += this.distances[k];
+			}
+		}
+		return sum;
+	}
+
+	// ------------------------------------------
+	// 				Methods
+	// ------------------------------------------
+
+	/**
+	 * Search by batches of 64 sources
+	 */
+	public static MultiSourceBfs run(AdjacencyArrayDirectedGraph graph, int[] sources) {
+		return run(graph, sources, 1);
+	}
+
+	/**
+	 * Search by batches of 64*lanes sources. O(ceil(k / 64*lanes) * (n + m) * lanes
+	 * * diameter) word operations for k sources, instead of k searches.
+	 */
+	public static MultiSourceBfs run(AdjacencyArrayDirectedGraph graph, int[] sources, int lanes) {
+		if (lanes < 1) {
+			throw new IllegalArgumentException("The number of lanes must be positive: " + lanes);
+		}
+		int n = graph.getNbNodes();
+		int[] offsets = graph.getSuccOffsets();
+		int[] targets = graph.getSuccTargets();
+		MultiSourceBfs result = new MultiSourceBfs(n, sources);
+		int width = 64 * lanes;
+		long[] seen = new long[n * lanes];
+		long[] visit = new long[n * lanes];
+		long[] visitNext = new long[n * lanes];
+
+		for (int first = 0; first < sources.length; first += width) {
+			int batch = Math.min(width, sources.length - first);
+			Arrays.fill(seen, 0L);
+			Arrays.fill(visit, 0L);
+			for (int j = 0; j < batch; j++) {
+				int s = sources[first + j];
+				seen[s * lanes + (j >>> 6)] |= 1L << j;
+				visit[s * lanes + (j >>> 6)] |= 1L << j;
+				result.distances[(first + j) * n + s] = 0;
+			}
+
+			boolean active = true;
+			for (int level = 1; active; level++) {
+				// Les bits de chaque sommet de la frontière passent à ses successeurs
+				Arrays.fill(visitNext, 0L);
+				for (int u = 0; u < n; u++) {
+					int base = u * lanes;
+					long any = 0;
+					for (int l = 0; l < lanes; l++) {
+						any |= visit[base + l];
+					}
+					if (any == 0) {
+						continue;
+					}
+					for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+						int wBase = targets[i] * lanes;
+						for (int l = 0; l < lanes; l++) {
+							visitNext[wBase + l] |= visit[base + l];
+						}
+					}
+				}
+				// Seules les sources qui n'avaient pas encore atteint le sommet le gardent
+				active = false;
+				for (int w = 0; w < n; w++) {
+					int base = w * lanes;
+					for (int l = 0; l < lanes; l++) {
+						long reached = visitNext[base + l] & ~seen[base + l];
+						visitNext[base + l] = reached;
+						if (reached == 0) {
+							continue;
+						}
+						active = true;
+						seen[base + l] |= reached;
+						while (reached != 0) {
+							int j = (l << 6) + Long.numberOfTrailingZeros(reached);
+							result.distances[(first + j) * n + w] = level;
+							reached &= reached - 1;
+						}
+					}
+				}
+				long[] tmp = visit;
+				visit = visitNext;
+				visitNext = tmp;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Search on an adjacency list, through its compressed sparse row form
+	 */
+	public static MultiSourceBfs run(AdjacencyListDirectedGraph graph, int[] sources) {
+		return run(new AdjacencyArrayDirectedGraph(graph), sources);
+	}
+
+	public static void main(String[] args) {
+		int[][] matrix = GraphTools.generateGraphData(10, 20, false, false, true, 100001);
+		AdjacencyArrayDirectedGraph small = new AdjacencyArrayDirectedGraph(new AdjacencyListDirectedGraph(matrix));
+		MultiSourceBfs all = run(small, new int[] { 0, 1, 2, 3, 4, 5, 6, 7, 8, 9 });
+		for (int i = 0; i < all.getNbSources(); i++) {
+			System.out.println("Depuis " + all.getSource(i) + " : " + Arrays.toString(all.getDistances(i)));
+		}
+
+		// 256 sources on a random graph of 20000 nodes
+		int n = 20000;
+		Random rand = new Random(42);
+		List<DirectedNode> nodes = new ArrayList<>();
+		for (int v = 0; v < n; v++) {
+			nodes.add(new DirectedNode(v));
+		}
+		AdjacencyListDirectedGraph al = new AdjacencyListDirectedGraph(nodes, new ArrayList<Arc>());
+		for (int k = 0; k < 8 * n; k++) {
+			al.addArc(nodes.get(rand.nextInt(n)), nodes.get(rand.nextInt(n)));
+		}
+		AdjacencyArrayDirectedGraph csr = new AdjacencyArrayDirectedGraph(al);
+		int[] sources = new int[256];
+		for (int i = 0; i < sources.length; i++) {
+			sources[i] = rand.nextInt(n);
+		}
+		long start = System.nanoTime();
+		MultiSourceBfs batch = run(csr, sources, 2);
+		long batchTime = System.nanoTime() - start;
+		start = System.nanoTime();
+		boolean same = true;
+		for (int i = 0; i < sources.length; i++) {
+			same &= Arrays.equals(batch.getDistances(i), BreadthFirstSearch.topDown(csr, sources[i]).getDepths());
+		}
+		long singleTime = System.nanoTime() - start;
+		System.out.println("Mêmes distances que " + sources.length + " parcours ? " + same);
+		System.out.println("Temps : " + batchTime / 1000000 + " ms en une fois, " + singleTime / 1000000
+				+ " ms source par source");
+	}
+
+}
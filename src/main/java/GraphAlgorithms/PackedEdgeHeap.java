@@ -0,0 +1,223 @@
+package GraphAlgorithms;
+
+import java.util.Arrays;
+
+/**
+ * Min-heap of edges (first node, second node, weight) ordered by weight, stored in
+ * three parallel int arrays with a d-ary layout: the children of position p are at
+ * d*p+1 .. d*p+d. No object is created by the operations, the arrays growing by
+ * half when full; the entries are moved along the path instead of being swapped.
+ * The minimum is read by getMinFirst, getMinSecond and getMinWeight before being
+ * removed.
+ */
+public class PackedEdgeHeap {
+
+	private final int arity;
+	private int[] firsts;	// first node of each edge, ordered by position in the heap
+	private int[] seconds;	// second node of each edge
+	private int[] weights;	// weight of each edge
+	private int size;
+
+	public PackedEdgeHeap() {
+		this(16, 4);
+	}
+
+	public PackedEdgeHeap(int capacity, int arity) {
+		if (arity < 2) {
+			throw new IllegalArgumentException("The arity must be at least 2: " + arity);
+		}
+		this.arity = arity;
+		this.firsts = new int[Math.max(1, capacity)];
+		this.seconds = new int[Math.max(1, capacity)];
+		this.weights = new int[Math.max(1, capacity)];
+		this.size = 0;
+	}
+
+	/**
+	 * Builds the heap of the size first edges of the arrays, which are copied, in
+	 * O(size) by sifting down the positions from the last parent to the root
+	 */
+	public PackedEdgeHeap(int[] firsts, int[] seconds, int[] weights, int size, int arity) {
+		this(0, arity);
+		this.firsts = Arrays.copyOf(firsts, Math.max(1, size));
+		this.seconds = Arrays.copyOf(seconds, Math.max(1, size));
+		this.weights = Arrays.copyOf(weights, Math.max(1, size));
+		this.size = size;
+		for (int p = (size - 2) / arity; p >= 0; p--) {
+			siftDown(p);
+		}
+	}
+
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	public int size() {
+		return this.size;
+	}
+
+	public int getArity() {
+		return this.arity;
+	}
+
+	/**
+	 * @return the first node of the edge of least weight
+	 */
+	public int getMinFirst() {
+		return this.firsts[0];
+	}
+
+	/**
+	 * @return the second node of the edge of least weight
+	 */
+	public int getMinSecond() {
+		return this.seconds[0];
+	}
+
+	public int getMinWeight() {
+		return this.weights[0];
+	}
+
+	/**
+	 * Inserts an edge, O(log_d n)
+	 */
+	public void insert(int first, int second, int weight) {
+		if (this.size == this.weights.length) {
+			int capacity = this.size + (this.size >> 1) + 1;
+			this.firsts = Arrays.copyOf(this.firsts, capacity);
+			this.seconds = Arrays.copyOf(this.seconds, capacity);
+			this.weights = Arrays.copyOf(this.weights, capacity);
+		}
+		int p = this.size++;
+		while (p > 0) {
+			int parent = (p - 1) / this.arity;
+			if (this.weights[parent] <= weight) {
+				break;
+			}
+			move(parent, p);
+			p = parent;
+		}
+		this.firsts[p] = first;
+		this.seconds[p] = second;
+		this.weights[p] = weight;
+	}
+
+	/**
+	 * Removes the edge of least weight, O(d log_d n), nothing if the heap is empty
+	 */
+	public void removeMin() {
+		if (isEmpty()) {
+			return;
+		}
+		this.size--;
+		if (this.size > 0) {
+			move(this.size, 0);
+			siftDown(0);
+		}
+	}
+
+	/**
+	 * Empties the heap, so that it can be reused for another run
+	 */
+	public void clear() {
+		this.size = 0;
+	}
+
+	private void move(int from, int to) {
+		this.firsts[to] = this.firsts[from];
+		this.seconds[to] = this.seconds[from];
+		this.weights[to] = this.weights[from];
+	}
+
+	private void siftDown(int p) {
+		int first = this.firsts[p];
+		int second = this.seconds[p];
+		int weight = this.weights[p];
+		while (true) {
+			int child = this.arity * p + 1;
+			if (child >= this.size) {
+				break;
+			}
+			// the child having the least weight
+			int best = child;
+			int end = Math.min(child + this.arity, this.size);
+			for (int c = child + 1; c < end; c++) {
+				if (this.weights[c] < this.weights[best]) {
+					best = c;
+				}
+			}
+			if (weight <= this.weights[best]) {
+				break;
+			}
+			move(best, p);
+			p = best;
+		}
+		this.firsts[p] = first;
+		this.seconds[p] = second;
+		this.weights[p] = weight;
+	}
+
+	public String toString() {
+		StringBuilder s = new StringBuilder();
+		for (int i = 0; i < this.size; i++) {
+			s.append("(").append(this.firsts[i]).append(",").append(this.seconds[i]).append(")=")
+					.append(this.weights[i]).append(", ");
+		}
+		return s.toString();
+	}
+
+	/**
+	 * Test to check the validity of the heap
+	 *
+	 * @return true if every edge has a weight at least equal to the weight of its
+	 *         parent
+	 */
+	public boolean test() {
+		for (int p = 1; p < this.size; p++) {
+			if (this.weights[(p - 1) / this.arity] > this.weights[p]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public static void main(String[] args) {
+		PackedEdgeHeap heap = new PackedEdgeHeap(4, 2);
+		System.out.println(heap.isEmpty() + "\n");
+		int min = 2;
+		int max = 20;
+		for (int k = 10; k > 0; k--) {
+			int rand = min + (int) (Math.random() * ((max - min) + 1));
+			System.out.print("insert (" + k + "," + (k + 30) + ")=" + rand + " ");
+			heap.insert(k, k + 30, rand);
+		}
+		System.out.println("\n" + heap);
+		System.out.println(heap.test());
+		while (!heap.isEmpty()) {
+			System.out.print("remove (" + heap.getMinFirst() + "," + heap.getMinSecond() + ")="
+					+ heap.getMinWeight() + " ");
+			heap.removeMin();
+			System.out.println(heap.test());
+		}
+
+		// Construction en O(n) avec une disposition 4-aire
+		int n = 20;
+		int[] firsts = new int[n];
+		int[] seconds = new int[n];
+		int[] weights = new int[n];
+		for (int i = 0; i < n; i++) {
+			firsts[i] = i;
+			seconds[i] = i + 1;
+			weights[i] = min + (int) (Math.random() * ((max - min) + 1));
+		}
+		PackedEdgeHeap built = new PackedEdgeHeap(firsts, seconds, weights, n, 4);
+		System.out.println("\n" + built + "\n" + built.test());
+		StringBuilder order = new StringBuilder();
+		while (!built.isEmpty()) {
+			order.append(built.getMinWeight()).append(" ");
+			built.removeMin();
+		}
+		System.out.println(order);
+	}
+
+}
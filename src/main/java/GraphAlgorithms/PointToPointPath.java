@@ -0,0 +1,302 @@
+package GraphAlgorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import AdjacencyArray.AdjacencyArrayDirectedGraph;
+import AdjacencyList.AdjacencyListDirectedGraph;
+import AdjacencyList.AdjacencyListDirectedValuedGraph;
+import Nodes_Edges.Arc;
+import Nodes_Edges.DirectedNode;
+
+/**
+ * Result of a shortest path query between two nodes: the distance, the labels of
+ * the nodes of the path and the number of nodes settled by the search, which
+ * measures its cost. The static methods answer the query on the compressed sparse
+ * row form, with non negative weights.
+ */
+public class PointToPointPath {
+
+	//--------------------------------------------------
+	// 				Class variables
+	//--------------------------------------------------
+
+	private final int source;
+	private final int target;
+	private final long distance;	// ShortestPathTree.UNREACHABLE if there is no path
+	private final int[] path;		// from source to target, empty if there is no path
+	private final int nbSettled;
+
+	//--------------------------------------------------
+	// 				Constructors
+	//--------------------------------------------------
+
+	/**
+	 * The array is kept, not copied
+	 */
+	public PointToPointPath(int source, int target, long distance, int[] path, int nbSettled) {
+		this.source = source;
+		this.target = target;
+		this.distance = distance;
+		this.path = path;
+		this.nbSettled = nbSettled;
+	}
+
+	// ------------------------------------------
+	// 				Accessors
+	// ------------------------------------------
+
+	public int getSource() {
+		return this.source;
+	}
+
+	public int getTarget() {
+		return this.target;
+	}
+
+	/**
+	 * @return the distance from the source to the target, ShortestPathTree.UNREACHABLE
+	 *         if there is no path
+	 */
+	public long getDistance() {
+		return this.distance;
+	}
+
+	public boolean isReachable() {
+		return this.distance != ShortestPathTree.UNREACHABLE;
+	}
+
+	/**
+	 * @return the labels of the nodes of the path, empty if there is no path, must not
+	 *         be modified
+	 */
+	public int[] getPath() {
+		return this.path;
+	}
+
+	/**
+	 * @return the number of nodes removed from the priority queues by the search
+	 */
+	public int getNbSettled() {
+		return this.nbSettled;
+	}
+
+	// ------------------------------------------
+	// 				Methods
+	// ------------------------------------------
+
+	/**
+	 * Dijkstra from the source, stopped as soon as the target is settled
+	 */
+	public static PointToPointPath dijkstra(AdjacencyArrayDirectedGraph graph, int source, int target) {
+		int n = graph.getNbNodes();
+		int[] offsets = graph.getSuccOffsets();
+		int[] targets = graph.getSuccTargets();
+		int[] weights = graph.getSuccWeights();
+		long[] distances = new long[n];
+		int[] parents = new int[n];
+		boolean[] visited = new boolean[n];
+		Arrays.fill(distances, ShortestPathTree.UNREACHABLE);
+		Arrays.fill(parents, -1);
+		IndexedDaryHeap heap = new IndexedDaryHeap(n);
+		distances[source] = 0;
+		parents[source] = source;
+		heap.insert(source, 0);
+		int nbSettled = 0;
+		while (!heap.isEmpty()) {
+			int node = heap.remove();
+			visited[node] = true;
+			nbSettled++;
+			if (node == target) {
+				break;
+			}
+			for (int i = offsets[node]; i < offsets[node + 1]; i++) {
+				int succ = targets[i];
+				long newDistance = distances[node] + weights[i];
+				if (!visited[succ] && newDistance < distances[succ]) {
+					distances[succ] = newDistance;
+					parents[succ] = node;
+					heap.insertOrDecrease(succ, newDistance);
+				}
+			}
+		}
+		ShortestPathTree tree = new ShortestPathTree(source, distances, parents);
+		return new PointToPointPath(source, target, distances[target], tree.getPath(target), nbSettled);
+	}
+
+	/**
+	 * Dijkstra stopped at the target on an adjacency list, through its compressed
+	 * sparse row form
+	 */
+	public static PointToPointPath dijkstra(AdjacencyListDirectedValuedGraph graph, DirectedNode source,
+			DirectedNode target) {
+		return dijkstra(new AdjacencyArrayDirectedGraph(graph), source.getLabel(), target.getLabel());
+	}
+
+	/**
+	 * Bidirectional Dijkstra: a search from the source over the successors and a
+	 * search from the target over the predecessors, advancing the one whose next
+	 * node is closer. Each arc reaching a node seen by the other search gives a path,
+	 * the best one mu is kept, and the searches stop when the sum of the keys at the
+	 * top of both heaps reaches mu: no path through unsettled nodes can be shorter.
+	 */
+	public static PointToPointPath bidirectional(AdjacencyArrayDirectedGraph graph, int source, int target) {
+		if (source == target) {
+			return new PointToPointPath(source, target, 0, new int[] { source }, 0);
+		}
+		int n = graph.getNbNodes();
+		long inf = ShortestPathTree.UNREACHABLE;
+		Search forward = new Search(n, graph.getSuccOffsets(), graph.getSuccTargets(), graph.getSuccWeights(), source);
+		Search backward = new Search(n, graph.getPredOffsets(), graph.getPredSources(), graph.getPredWeights(),
+				target);
+		long mu = inf;
+		int meet = -1;
+		int nbSettled = 0;
+		while (!forward.heap.isEmpty() && !backward.heap.isEmpty()) {
+			long topForward = forward.heap.getKey(forward.heap.peek());
+			long topBackward = backward.heap.getKey(backward.heap.peek());
+			if (mu != inf && topForward + topBackward >= mu) {
+				break;
+			}
+			// On avance le parcours dont le prochain noeud est le plus proche
+			Search current = topForward <= topBackward ? forward : backward;
+			Search other = current == forward ? backward : forward;
+			int node = current.heap.remove();
+			current.settled[node] = true;
+			nbSettled++;
+			for (int i = current.offsets[node]; i < current.offsets[node + 1]; i++) {
+				int next = current.targets[i];
+				long newDistance = current.distances[node] + current.weights[i];
+				if (!current.settled[next] && newDistance < current.distances[next]) {
+					current.distances[next] = newDistance;
+					current.parents[next] = node;
+					current.heap.insertOrDecrease(next, newDistance);
+				}
+				if (other.distances[next] != inf && current.distances[next] + other.distances[next] < mu) {
+					mu = current.distances[next] + other.distances[next];
+					meet = next;
+				}
+			}
+		}
+		if (meet < 0) {
+			return new PointToPointPath(source, target, inf, new int[0], nbSettled);
+		}
+		// Chemin : source -> meet par les parents avant, meet -> target par les parents arrière
+		int nbForward = 0;
+		for (int u = meet; u != source; u = forward.parents[u]) {
+			nbForward++;
+		}
+		int nbBackward = 0;
+		for (int u = meet; u != target; u = backward.parents[u]) {
+			nbBackward++;
+		}
+		int[] path = new int[nbForward + nbBackward + 1];
+		int u = meet;
+		for (int k = nbForward; k >= 0; k--) {
+			path[k] = u;
+			u = forward.parents[u];
+		}
+		u = meet;
+		for (int k = nbForward + 1; k < path.length; k++) {
+			u = backward.parents[u];
+			path[k] = u;
+		}
+		return new PointToPointPath(source, target, mu, path, nbSettled);
+	}
+
+	/**
+	 * Bidirectional Dijkstra on an adjacency list, through its compressed sparse row
+	 * form
+	 */
+	public static PointToPointPath bidirectional(AdjacencyListDirectedValuedGraph graph, DirectedNode source,
+			DirectedNode target) {
+		return bidirectional(new AdjacencyArrayDirectedGraph(graph), source.getLabel(), target.getLabel());
+	}
+
+	/**
+	 * State of one direction of the bidirectional search, over the successor or the
+	 * predecessor arrays
+	 */
+	private static final class Search {
+		final int[] offsets;
+		final int[] targets;
+		final int[] weights;
+		final long[] distances;
+		final int[] parents;
+		final boolean[] settled;
+		final IndexedDaryHeap heap;
+
+		Search(int n, int[] offsets, int[] targets, int[] weights, int root) {
+			this.offsets = offsets;
+			this.targets = targets;
+			this.weights = weights;
+			this.distances = new long[n];
+			this.parents = new int[n];
+			this.settled = new boolean[n];
+			Arrays.fill(this.distances, ShortestPathTree.UNREACHABLE);
+			Arrays.fill(this.parents, -1);
+			this.heap = new IndexedDaryHeap(n);
+			this.distances[root] = 0;
+			this.parents[root] = root;
+			this.heap.insert(root, 0);
+		}
+	}
+
+	@Override
+	public String toString() {
+		if (!isReachable()) {
+			return this.source + " -> " + this.target + " : pas de chemin (" + this.nbSettled + " noeuds traités)";
+		}
+		return this.source + " -> " + this.target + " : distance " + this.distance + ", chemin "
+				+ Arrays.toString(this.path) + " (" + this.nbSettled + " noeuds traités)";
+	}
+
+	public static void main(String[] args) {
+		int[][] matrix = GraphTools.generateValuedGraphData(10, false, false, true, false, 100001);
+		AdjacencyArrayDirectedGraph small = new AdjacencyArrayDirectedGraph(matrix);
+		System.out.println(dijkstra(small, 0, 1));
+		System.out.println(bidirectional(small, 0, 1));
+
+		// Grid of 300x300 nodes, as a road network, weights between 1 and 15
+		int side = 300;
+		int n = side * side;
+		Random rand = new Random(42);
+		List<DirectedNode> nodes = new ArrayList<>();
+		for (int v = 0; v < n; v++) {
+			nodes.add(new DirectedNode(v));
+		}
+		AdjacencyListDirectedGraph al = new AdjacencyListDirectedGraph(nodes, new ArrayList<Arc>());
+		for (int v = 0; v < n; v++) {
+			if (v % side + 1 < side) {
+				al.addArc(nodes.get(v), nodes.get(v + 1), 1 + rand.nextInt(15));
+				al.addArc(nodes.get(v + 1), nodes.get(v), 1 + rand.nextInt(15));
+			}
+			if (v + side < n) {
+				al.addArc(nodes.get(v), nodes.get(v + side), 1 + rand.nextInt(15));
+				al.addArc(nodes.get(v + side), nodes.get(v), 1 + rand.nextInt(15));
+			}
+		}
+		AdjacencyArrayDirectedGraph grid = new AdjacencyArrayDirectedGraph(al);
+		int settledFull = 0;
+		int settledEarly = 0;
+		int settledBidirectional = 0;
+		boolean same = true;
+		for (int q = 0; q < 20; q++) {
+			int s = rand.nextInt(n);
+			int t = (s + side * 10 + 10) % n;
+			long full = GraphToolsList.dijkstra(grid, s).getDistance(t);
+			PointToPointPath early = dijkstra(grid, s, t);
+			PointToPointPath both = bidirectional(grid, s, t);
+			same &= full == early.getDistance() && full == both.getDistance();
+			settledFull += n;
+			settledEarly += early.getNbSettled();
+			settledBidirectional += both.getNbSettled();
+		}
+		System.out.println("Mêmes distances sur 20 requêtes ? " + same);
+		System.out.println("Noeuds traités : " + settledFull + " (tout le graphe), " + settledEarly
+				+ " (arrêt à la cible), " + settledBidirectional + " (bidirectionnel)");
+	}
+
+}
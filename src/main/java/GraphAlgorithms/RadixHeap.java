@@ -0,0 +1,171 @@
+package GraphAlgorithms;
+
+import java.util.Arrays;
+
+/**
+ * Monotone priority queue of items (node labels) with long keys: a key inserted can
+ * not be lower than the last key removed, which always holds in Dijkstra's
+ * algorithm with non negative weights.
+ * The pairs are kept in 65 buckets, bucket i holding the keys whose highest bit
+ * differing from the last key removed is bit i-1 (bucket 0: the keys equal to it).
+ * When bucket 0 is empty, the first non empty bucket is spread over the lower ones
+ * around its least key, each pair moving down at most 64 times.
+ * There is no decrease key: an item is inserted again with its new key and the
+ * caller skips the old pairs.
+ */
+public class RadixHeap {
+
+	private final long[][] keys = new long[65][];
+	private final int[][] items = new int[65][];
+	private final int[] sizes = new int[65];
+	private long last;	// last key removed
+	private int size;
+
+	public RadixHeap() {
+		for (int b = 0; b < 65; b++) {
+			this.keys[b] = new long[4];
+			this.items[b] = new int[4];
+		}
+		this.last = 0;
+		this.size = 0;
+	}
+
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * @return the last key removed, 0 before the first removal
+	 */
+	public long getLastKey() {
+		return this.last;
+	}
+
+	/**
+	 * Inserts a pair, O(1)
+	 *
+	 * @throws IllegalArgumentException if the key is lower than the last key removed
+	 */
+	public void insert(int item, long key) {
+		if (key < this.last) {
+			throw new IllegalArgumentException("Key " + key + " lower than the last key removed " + this.last);
+		}
+		push(bucketOf(key), item, key);
+		this.size++;
+	}
+
+	/**
+	 * Removes a pair with the least key, O(log C) amortized for keys within C of the
+	 * last key removed
+	 *
+	 * @return the item of the pair, its key being then getLastKey(), -1 if the heap is
+	 *         empty
+	 */
+	public int remove() {
+		if (isEmpty()) {
+			return -1;
+		}
+		if (this.sizes[0] == 0) {
+			int b = 1;
+			while (this.sizes[b] == 0) {
+				b++;
+			}
+			long[] bucketKeys = this.keys[b];
+			int[] bucketItems = this.items[b];
+			int bucketSize = this.sizes[b];
+			long min = bucketKeys[0];
+			for (int i = 1; i < bucketSize; i++) {
+				min = Math.min(min, bucketKeys[i]);
+			}
+			this.last = min;
+			// Les paires se répartissent dans des seaux plus petits que b
+			this.sizes[b] = 0;
+			for (int i = 0; i < bucketSize; i++) {
+				push(bucketOf(bucketKeys[i]), bucketItems[i], bucketKeys[i]);
+			}
+		}
+		this.size--;
+		return this.items[0][--this.sizes[0]];
+	}
+
+	/**
+	 * Empties the heap, so that it can be reused for another run
+	 */
+	public void clear() {
+		Arrays.fill(this.sizes, 0);
+		this.last = 0;
+		this.size = 0;
+	}
+
+	private int bucketOf(long key) {
+		return 64 - Long.numberOfLeadingZeros(key ^ this.last);
+	}
+
+	private void push(int b, int item, long key) {
+		int s = this.sizes[b];
+		if (s == this.keys[b].length) {
+			this.keys[b] = Arrays.copyOf(this.keys[b], 2 * s);
+			this.items[b] = Arrays.copyOf(this.items[b], 2 * s);
+		}
+		this.keys[b][s] = key;
+		this.items[b][s] = item;
+		this.sizes[b] = s + 1;
+	}
+
+	public String toString() {
+		StringBuilder s = new StringBuilder();
+		for (int b = 0; b < 65; b++) {
+			for (int i = 0; i < this.sizes[b]; i++) {
+				s.append(this.items[b][i]).append(":").append(this.keys[b][i]).append(", ");
+			}
+		}
+		return s.toString();
+	}
+
+	/**
+	 * Test to check the validity of the heap
+	 *
+	 * @return true if every pair is in the bucket given by its key and the last key
+	 *         removed
+	 */
+	public boolean test() {
+		int total = 0;
+		for (int b = 0; b < 65; b++) {
+			for (int i = 0; i < this.sizes[b]; i++) {
+				if (this.keys[b][i] < this.last || bucketOf(this.keys[b][i]) != b) {
+					return false;
+				}
+			}
+			total += this.sizes[b];
+		}
+		return total == this.size;
+	}
+
+	public static void main(String[] args) {
+		RadixHeap heap = new RadixHeap();
+		System.out.println(heap.isEmpty() + "\n");
+		int min = 2;
+		int max = 50;
+		for (int item = 0; item < 20; item++) {
+			int rand = min + (int) (Math.random() * ((max - min) + 1));
+			System.out.print("insert " + item + ":" + rand + " ");
+			heap.insert(item, rand);
+		}
+		System.out.println("\n" + heap);
+		System.out.println(heap.test());
+		while (!heap.isEmpty()) {
+			int item = heap.remove();
+			System.out.print("remove " + item + ":" + heap.getLastKey() + " ");
+			System.out.println(heap.test());
+			if (item < 5) {
+				// Nouvelle clé au moins égale à la dernière retirée
+				heap.insert(item + 20, heap.getLastKey() + item);
+			}
+		}
+	}
+
+}
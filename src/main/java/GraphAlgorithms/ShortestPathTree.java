@@ -0,0 +1,168 @@
+package GraphAlgorithms;
+
+import java.util.Arrays;
+
+/**
+ * Result of a single source shortest path algorithm, with primitive arrays: the
+ * distance from the source to each node (long, so that sums of int weights do not
+ * overflow) and the label of its parent in the tree. The paths are rebuilt only
+ * when asked.
+ */
+public class ShortestPathTree {
+
+	//--------------------------------------------------
+	// 				Class variables
+	//--------------------------------------------------
+
+	public static final long UNREACHABLE = Long.MAX_VALUE; // distance of the nodes not reached
+
+	private final int source;
+	private final long[] distances;	// distance from the source, UNREACHABLE if not reached
+	private final int[] parents;	// label of the parent, -1 if not reached, source for the source
+	private final int[] negativeCycle;	// nodes of a cycle of negative weight, null if none
+
+	//--------------------------------------------------
+	// 				Constructors
+	//--------------------------------------------------
+
+	/**
+	 * The arrays are kept, not copied
+	 */
+	public ShortestPathTree(int source, long[] distances, int[] parents) {
+		this(source, distances, parents, null);
+	}
+
+	/**
+	 * Result of an algorithm which found a cycle of negative weight reachable from
+	 * the source: the distances and parents are those of the last step, not shortest
+	 * paths. The arrays are kept, not copied.
+	 *
+	 * @param negativeCycle the nodes of the cycle in the order of its arcs, null if none
+	 */
+	public ShortestPathTree(int source, long[] distances, int[] parents, int[] negativeCycle) {
+		this.source = source;
+		this.distances = distances;
+		this.parents = parents;
+		this.negativeCycle = negativeCycle;
+	}
+
+	// ------------------------------------------
+	// 				Accessors
+	// ------------------------------------------
+
+	public int getSource() {
+		return this.source;
+	}
+
+	public int getNbNodes() {
+		return this.distances.length;
+	}
+
+	/**
+	 * @return the distance from the source to v, UNREACHABLE if v is not reached
+	 */
+	public long getDistance(int v) {
+		return this.distances[v];
+	}
+
+	/**
+	 * @return true if there is a path from the source to v
+	 */
+	public boolean isReachable(int v) {
+		return this.distances[v] != UNREACHABLE;
+	}
+
+	/**
+	 * @return the label of the node before v on the shortest path, -1 if v is not reached
+	 */
+	public int getParent(int v) {
+		return this.parents[v];
+	}
+
+	/**
+	 * @return true if a cycle of negative weight is reachable from the source, the
+	 *         distances being then meaningless
+	 */
+	public boolean hasNegativeCycle() {
+		return this.negativeCycle != null;
+	}
+
+	/**
+	 * @return the nodes of a cycle of negative weight, each one having an arc to the
+	 *         next and the last one to the first, empty if there is none
+	 */
+	public int[] getNegativeCycle() {
+		return this.negativeCycle == null ? new int[0] : this.negativeCycle.clone();
+	}
+
+	/**
+	 * @return the distances of all the nodes, must not be modified
+	 */
+	public long[] getDistances() {
+		return this.distances;
+	}
+
+	/**
+	 * @return the parents of all the nodes, must not be modified
+	 */
+	public int[] getParents() {
+		return this.parents;
+	}
+
+	// ------------------------------------------
+	// 				Methods
+	// ------------------------------------------
+
+	/**
+	 * @return the labels of the nodes of the shortest path from the source to v, empty
+	 *         if v is not reached
+	 * @throws IllegalStateException if there is a cycle of negative weight
+	 */
+	public int[] getPath(int v) {
+		if (hasNegativeCycle()) {
+			throw new IllegalStateException("No shortest path with a cycle of negative weight");
+		}
+		if (!isReachable(v)) {
+			return new int[0];
+		}
+		int length = 1;
+		for (int u = v; u != this.source; u = this.parents[u]) {
+			length++;
+		}
+		int[] path = new int[length];
+		for (int u = v, i = length - 1; i >= 0; u = this.parents[u], i--) {
+			path[i] = u;
+		}
+		return path;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder s = new StringBuilder("Noeud\tDistance\tPredecesseur\n");
+		for (int v = 0; v < this.distances.length; v++) {
+			s.append(v).append("\t")
+					.append(isReachable(v) ? String.valueOf(this.distances[v]) : "inf").append("\t\t")
+					.append(this.parents[v] >= 0 ? String.valueOf(this.parents[v]) : "null").append("\n");
+		}
+		if (hasNegativeCycle()) {
+			s.append("Cycle de poids négatif : ").append(Arrays.toString(this.negativeCycle)).append("\n");
+		}
+		return s.toString();
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (!(o instanceof ShortestPathTree)) {
+			return false;
+		}
+		ShortestPathTree t = (ShortestPathTree) o;
+		return this.source == t.source && Arrays.equals(this.distances, t.distances)
+				&& Arrays.equals(this.parents, t.parents) && Arrays.equals(this.negativeCycle, t.negativeCycle);
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * Arrays.hashCode(this.distances) + this.source;
+	}
+
+}
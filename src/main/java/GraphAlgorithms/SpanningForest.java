@@ -0,0 +1,415 @@
+package GraphAlgorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+import AdjacencyList.AdjacencyListUndirectedGraph;
+import AdjacencyList.AdjacencyListUndirectedValuedGraph;
+import Nodes_Edges.Edge;
+import Nodes_Edges.NeighbourList;
+import Nodes_Edges.UndirectedNode;
+
+/**
+ * Result of a minimum spanning forest algorithm, with primitive arrays: the edges
+ * are kept in parallel int arrays (both extremities and the weight) and the total
+ * weight in a long. A graph which is not connected gets one tree per connected
+ * component.
+ */
+public class SpanningForest {
+
+	//--------------------------------------------------
+	// 				Class variables
+	//--------------------------------------------------
+
+	private final int nbNodes;
+	private final int[] firstNodes;		// first extremity of each edge
+	private final int[] secondNodes;	// second extremity of each edge
+	private final int[] weights;		// weight of each edge
+	private final long totalWeight;
+
+	//--------------------------------------------------
+	// 				Constructors
+	//--------------------------------------------------
+
+	/**
+	 * Keeps the nbEdges first entries of the arrays, which are copied
+	 */
+	public SpanningForest(int nbNodes, int[] firstNodes, int[] secondNodes, int[] weights, int nbEdges) {
+		this.nbNodes = nbNodes;
+		this.firstNodes = Arrays.copyOf(firstNodes, nbEdges);
+		this.secondNodes = Arrays.copyOf(secondNodes, nbEdges);
+		this.weights = Arrays.copyOf(weights, nbEdges);
+		long total = 0;
+		for (int i = 0; i < nbEdges; i++) {
+			total += weights[i];
+		}
+		this.totalWeight = total;
+	}
+
+	// ------------------------------------------
+	// 				Accessors
+	// ------------------------------------------
+
+	public int getNbNodes() {
+		return this.nbNodes;
+	}
+
+	public int getNbEdges() {
+		return this.firstNodes.length;
+	}
+
+	/**
+	 * @return the label of the first extremity of the i-th edge
+	 */
+	public int getFirstNode(int i) {
+		return this.firstNodes[i];
+	}
+
+	/**
+	 * @return the label of the second extremity of the i-th edge
+	 */
+	public int getSecondNode(int i) {
+		return this.secondNodes[i];
+	}
+
+	public int getWeight(int i) {
+		return this.weights[i];
+	}
+
+	public long getTotalWeight() {
+		return this.totalWeight;
+	}
+
+	/**
+	 * @return the number of trees, that is of connected components of the graph
+	 */
+	public int getNbTrees() {
+		return this.nbNodes - this.firstNodes.length;
+	}
+
+	/**
+	 * @return true if the forest is a single tree, the graph being connected
+	 */
+	public boolean isSpanningTree() {
+		return getNbTrees() <= 1;
+	}
+
+	// ------------------------------------------
+	// 				Methods
+	// ------------------------------------------
+
+	/**
+	 * @return the edges of the forest as Edge objects between the nodes of the graph
+	 */
+	public List<Edge> toEdges(AdjacencyListUndirectedGraph graph) {
+		List<UndirectedNode> nodes = graph.getNodes();
+		List<Edge> edges = new ArrayList<>(this.firstNodes.length);
+		for (int i = 0; i < this.firstNodes.length; i++) {
+			edges.add(new Edge(nodes.get(this.firstNodes[i]), nodes.get(this.secondNodes[i]), this.weights[i]));
+		}
+		return edges;
+	}
+
+	/**
+	 * Eager Prim: each node outside the tree has a single entry in an indexed heap,
+	 * keyed by the lightest edge joining it to the tree, lowered by decreaseKey. The
+	 * neighbours are read from the int arrays of the incidence lists. When the heap
+	 * is empty, a new tree starts from the next node not reached. O(m log n).
+	 */
+	public static SpanningForest prim(AdjacencyListUndirectedGraph graph) {
+		int n = graph.getNbNodes();
+		List<UndirectedNode> nodes = graph.getNodes();
+		int[] keys = new int[n];		// poids de l'arête la plus légère vers l'arbre
+		int[] parents = new int[n];		// autre extrémité de cette arête, -1 si aucune
+		boolean[] inTree = new boolean[n];
+		Arrays.fill(parents, -1);
+		int[] firstNodes = new int[Math.max(0, n - 1)];
+		int[] secondNodes = new int[Math.max(0, n - 1)];
+		int[] weights = new int[Math.max(0, n - 1)];
+		int nbEdges = 0;
+		IndexedDaryHeap heap = new IndexedDaryHeap(n);
+		for (int root = 0; root < n; root++) {
+			if (inTree[root]) {
+				continue;
+			}
+			heap.insert(root, 0);
+			while (!heap.isEmpty()) {
+				int u = heap.remove();
+				inTree[u] = true;
+				if (parents[u] >= 0) {
+					firstNodes[nbEdges] = parents[u];
+					secondNodes[nbEdges] = u;
+					weights[nbEdges] = keys[u];
+					nbEdges++;
+				}
+				NeighbourList<Edge> incident = nodes.get(u).getIncidentEdges();
+				for (int i = 0; i < incident.size(); i++) {
+					int v = incident.getLabel(i);
+					int w = incident.getWeight(i);
+					if (!inTree[v] && (parents[v] < 0 || w < keys[v])) {
+						keys[v] = w;
+						parents[v] = u;
+						heap.insertOrDecrease(v, w);
+					}
+				}
+			}
+		}
+		return new SpanningForest(n, firstNodes, secondNodes, weights, nbEdges);
+	}
+
+	/**
+	 * Kruskal: the edges are read once from the incidence lists, sorted by weight with
+	 * Arrays.parallelSort on longs packing the weight in the high half and the index
+	 * of the edge in the low half, then added in this order when they join two
+	 * different trees of a DisjointSet. O(m log m), the sort being parallel.
+	 */
+	public static SpanningForest kruskal(AdjacencyListUndirectedGraph graph) {
+		int n = graph.getNbNodes();
+		EdgeList edges = new EdgeList(graph);
+		long[] sorted = new long[edges.size];
+		for (int e = 0; e < edges.size; e++) {
+			sorted[e] = (long) edges.weights[e] << 32 | e;
+		}
+		Arrays.parallelSort(sorted);
+		DisjointSet sets = new DisjointSet(n);
+		int[] firstNodes = new int[Math.max(0, n - 1)];
+		int[] secondNodes = new int[Math.max(0, n - 1)];
+		int[] weights = new int[Math.max(0, n - 1)];
+		int nbEdges = 0;
+		for (int k = 0; k < edges.size && nbEdges < n - 1; k++) {
+			int e = (int) sorted[k];	// moitié basse : indice de l'arête
+			if (sets.union(edges.starts[e], edges.ends[e])) {
+				firstNodes[nbEdges] = edges.starts[e];
+				secondNodes[nbEdges] = edges.ends[e];
+				weights[nbEdges] = edges.weights[e];
+				nbEdges++;
+			}
+		}
+		return new SpanningForest(n, firstNodes, secondNodes, weights, nbEdges);
+	}
+
+	/**
+	 * Borůvka on the common fork-join pool
+	 */
+	public static SpanningForest boruvka(AdjacencyListUndirectedGraph graph) {
+		return boruvka(graph, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Parallel Borůvka: in each round, every tree takes in parallel its lightest
+	 * leaving edge, by compare-and-set of the minimum of (weight, index) packed in a
+	 * long, then the trees are merged along these edges in parallel in a concurrent
+	 * union-find. The order on (weight, index) being total, the chosen edges make a
+	 * forest, an edge chosen by its two trees being added once. The edges inside a
+	 * tree are then dropped, and the rounds stop when no tree has a leaving edge,
+	 * which gives a forest for a graph which is not connected. At most log2(n) rounds
+	 * of O(m/p).
+	 */
+	public static SpanningForest boruvka(AdjacencyListUndirectedGraph graph, ForkJoinPool pool) {
+		int n = graph.getNbNodes();
+		EdgeList edges = new EdgeList(graph);
+		ConcurrentDisjointSet sets = new ConcurrentDisjointSet(n);
+		AtomicLongArray lightest = new AtomicLongArray(n);	// par racine : (poids, indice) minimum
+		boolean[] inForest = new boolean[edges.size];
+		int[] active = IntStream.range(0, edges.size).toArray();
+		while (active.length > 0) {
+			int[] current = active;
+			pool.submit(() -> {
+				IntStream.range(0, n).parallel().forEach(v -> lightest.set(v, Long.MAX_VALUE));
+				IntStream.of(current).parallel().forEach(e -> {
+					int ru = sets.find(edges.starts[e]);
+					int rv = sets.find(edges.ends[e]);
+					if (ru != rv) {
+						long key = (long) edges.weights[e] << 32 | e;
+						lowerTo(lightest, ru, key);
+						lowerTo(lightest, rv, key);
+					}
+				});
+				IntStream.range(0, n).parallel().forEach(r -> {
+					long key = lightest.get(r);
+					if (key != Long.MAX_VALUE) {
+						int e = (int) key;
+						if (sets.union(edges.starts[e], edges.ends[e])) {
+							inForest[e] = true;
+						}
+					}
+				});
+			}).join();
+			// Les arêtes internes à un arbre ne servent plus
+			active = pool.submit(() -> IntStream.of(current).parallel()
+					.filter(e -> sets.find(edges.starts[e]) != sets.find(edges.ends[e])).toArray()).join();
+		}
+		int[] firstNodes = new int[Math.max(0, n - 1)];
+		int[] secondNodes = new int[Math.max(0, n - 1)];
+		int[] weights = new int[Math.max(0, n - 1)];
+		int nbEdges = 0;
+		for (int e = 0; e < edges.size; e++) {
+			if (inForest[e]) {
+				firstNodes[nbEdges] = edges.starts[e];
+				secondNodes[nbEdges] = edges.ends[e];
+				weights[nbEdges] = edges.weights[e];
+				nbEdges++;
+			}
+		}
+		return new SpanningForest(n, firstNodes, secondNodes, weights, nbEdges);
+	}
+
+	/**
+	 * Lowers the value at i to key if it is greater, by compare-and-set
+	 */
+	private static void lowerTo(AtomicLongArray values, int i, long key) {
+		long current = values.get(i);
+		while (key < current && !values.compareAndSet(i, current, key)) {
+			current = values.get(i);
+		}
+	}
+
+	/**
+	 * The edges of an undirected graph in parallel int arrays, each one once from its
+	 * smaller extremity to the greater, read from the incidence lists
+	 */
+	private static final class EdgeList {
+		final int[] starts;
+		final int[] ends;
+		final int[] weights;
+		final int size;
+
+		EdgeList(AdjacencyListUndirectedGraph graph) {
+			List<UndirectedNode> nodes = graph.getNodes();
+			int m = 0;
+			for (UndirectedNode node : nodes) {
+				m += node.getNbNeigh();
+			}
+			int[] starts = new int[m];
+			int[] ends = new int[m];
+			int[] weights = new int[m];
+			int size = 0;
+			for (int u = 0; u < nodes.size(); u++) {
+				NeighbourList<Edge> incident = nodes.get(u).getIncidentEdges();
+				for (int i = 0; i < incident.size(); i++) {
+					int v = incident.getLabel(i);
+					if (u < v) {
+						starts[size] = u;
+						ends[size] = v;
+						weights[size] = incident.getWeight(i);
+						size++;
+					}
+				}
+			}
+			this.starts = Arrays.copyOf(starts, size);
+			this.ends = Arrays.copyOf(ends, size);
+			this.weights = Arrays.copyOf(weights, size);
+			this.size = size;
+		}
+	}
+
+	/**
+	 * Union-find shared by threads: the parents are updated by compare-and-set, find
+	 * halving the paths and union hanging the root of greater label under the other,
+	 * which can not make a cycle
+	 */
+	private static final class ConcurrentDisjointSet {
+		final AtomicIntegerArray parents;
+
+		ConcurrentDisjointSet(int n) {
+			this.parents = new AtomicIntegerArray(n);
+			for (int i = 0; i < n; i++) {
+				this.parents.set(i, i);
+			}
+		}
+
+		int find(int x) {
+			int p = this.parents.get(x);
+			while (p != x) {
+				int grandParent = this.parents.get(p);
+				if (grandParent != p) {
+					this.parents.compareAndSet(x, p, grandParent);
+				}
+				x = p;
+				p = this.parents.get(x);
+			}
+			return x;
+		}
+
+		/**
+		 * @return true if the sets of x and y were distinct and are merged by this call
+		 */
+		boolean union(int x, int y) {
+			while (true) {
+				int rx = find(x);
+				int ry = find(y);
+				if (rx == ry) {
+					return false;
+				}
+				if (rx < ry) {
+					int tmp = rx;
+					rx = ry;
+					ry = tmp;
+				}
+				if (this.parents.compareAndSet(rx, rx, ry)) {
+					return true;
+				}
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder s = new StringBuilder();
+		for (int i = 0; i < this.firstNodes.length; i++) {
+			s.append(this.firstNodes[i]).append(" - ").append(this.secondNodes[i]).append(" : ")
+					.append(this.weights[i]).append("\n");
+		}
+		s.append("Poids total : ").append(this.totalWeight).append(", ").append(getNbTrees()).append(" arbre(s)\n");
+		return s.toString();
+	}
+
+	public static void main(String[] args) {
+		int[][] matrix = GraphTools.generateValuedGraphData(10, false, true, true, false, 100001);
+		AdjacencyListUndirectedValuedGraph al = new AdjacencyListUndirectedValuedGraph(matrix);
+		SpanningForest forest = prim(al);
+		System.out.println(forest);
+		long lazy = 0;
+		for (Edge e : BinaryHeapEdge.prim(al)) {
+			lazy += e.getWeight();
+		}
+		System.out.println("Même poids que BinaryHeapEdge.prim ? " + (lazy == forest.getTotalWeight()));
+		System.out.println("Kruskal :\n" + kruskal(al));
+
+		// Graphe non connexe, deux triangles : une forêt de deux arbres
+		matrix = new int[][] { { 0, 4, 5, 0, 0, 0 }, { 4, 0, 2, 0, 0, 0 }, { 5, 2, 0, 0, 0, 0 },
+				{ 0, 0, 0, 0, 1, 7 }, { 0, 0, 0, 1, 0, 3 }, { 0, 0, 0, 7, 3, 0 } };
+		al = new AdjacencyListUndirectedValuedGraph(matrix);
+		System.out.println("Borůvka, graphe non connexe :\n" + boruvka(al));
+
+		// Graphe de 3000 noeuds
+		matrix = GraphTools.generateValuedGraphData(3000, false, true, true, false, 100001);
+		al = new AdjacencyListUndirectedValuedGraph(matrix);
+		long start = System.nanoTime();
+		lazy = 0;
+		for (Edge e : BinaryHeapEdge.prim(al)) {
+			lazy += e.getWeight();
+		}
+		long lazyTime = System.nanoTime() - start;
+		start = System.nanoTime();
+		forest = prim(al);
+		long eagerTime = System.nanoTime() - start;
+		start = System.nanoTime();
+		SpanningForest kruskal = kruskal(al);
+		long kruskalTime = System.nanoTime() - start;
+		start = System.nanoTime();
+		SpanningForest boruvka = boruvka(al);
+		long boruvkaTime = System.nanoTime() - start;
+		System.out.println("Même poids sur 3000 noeuds ? " + (lazy == forest.getTotalWeight()
+				&& lazy == kruskal.getTotalWeight() && lazy == boruvka.getTotalWeight()));
+		System.out.println("Prim paresseux : " + lazyTime / 1000000 + " ms, Prim avec tas indexé : "
+				+ eagerTime / 1000000 + " ms, Kruskal : " + kruskalTime / 1000000 + " ms, Borůvka : "
+				+ boruvkaTime / 1000000 + " ms");
+	}
+
+}
@@ -0,0 +1,498 @@
+package GraphAlgorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+import AdjacencyArray.AdjacencyArrayDirectedGraph;
+import AdjacencyList.AdjacencyListDirectedGraph;
+import Nodes_Edges.Arc;
+import Nodes_Edges.DirectedNode;
+
+/**
+ * Decomposition of a directed graph in strongly connected components: the
+ * component of each node is given by an id between 0 and getNbComponents()-1.
+ * The static methods compute it on the compressed sparse row form.
+ */
+public class StronglyConnectedComponents {
+
+	//--------------------------------------------------
+	// 				Class variables
+	//--------------------------------------------------
+
+	/**
+	 * Below this number of nodes, a sub-problem of the parallel decomposition is
+	 * solved sequentially
+	 */
+	public static final int SEQUENTIAL_THRESHOLD = 2048;
+
+	private final int[] component;	// id of the component of each node
+	private final int nbComponents;
+
+	//--------------------------------------------------
+	// 				Constructors
+	//--------------------------------------------------
+
+	/**
+	 * The array is kept, not copied
+	 */
+	public StronglyConnectedComponents(int[] component, int nbComponents) {
+		this.component = component;
+		this.nbComponents = nbComponents;
+	}
+
+	// ------------------------------------------
+	// 				Accessors
+	// ------------------------------------------
+
+	public int getNbComponents() {
+		return this.nbComponents;
+	}
+
+	/**
+	 * @return the id of the component of v
+	 */
+	public int getComponent(int v) {
+		return this.component[v];
+	}
+
+	/**
+	 * @return the id of the component of each node, must not be modified
+	 */
+	public int[] getComponentIds() {
+		return this.component;
+	}
+
+	/**
+	 * @return the labels of the nodes of each component, by increasing label
+	 */
+	public int[][] getComponents() {
+		int[] sizes = new int[this.nbComponents];
+		for (int c : this.component) {
+			sizes[c]++;
+		}
+		int[][] components = new int[this.nbComponents][];
+		for (int c = 0; c < this.nbComponents; c++) {
+			components[c] = new int[sizes[c]];
+		}
+		Arrays.fill(sizes, 0);
+		for (int v = 0; v < this.component.length; v++) {
+			int c = this.component[v];
+			components[c][sizes[c]++] = v;
+		}
+		return components;
+	}
+
+	/**
+	 * @return true if both decompositions have the same components, whatever their ids
+	 */
+	public boolean sameComponents(StronglyConnectedComponents other) {
+		return this.toSets().equals(other.toSets());
+	}
+
+	private Set<Set<Integer>> toSets() {
+		Set<Set<Integer>> sets = new HashSet<>();
+		for (int[] c : getComponents()) {
+			Set<Integer> set = new HashSet<>();
+			for (int v : c) {
+				set.add(v);
+			}
+			sets.add(set);
+		}
+		return sets;
+	}
+
+	// ------------------------------------------
+	// 				Methods
+	// ------------------------------------------
+
+	/**
+	 * Tarjan's algorithm, iterative: a single depth first search over the successors,
+	 * without building the inverse graph. O(n + m).
+	 * The ids of the components are in reverse topological order: an arc between
+	 * two components goes from a greater id to a smaller one.
+	 */
+	public static StronglyConnectedComponents tarjan(AdjacencyArrayDirectedGraph graph) {
+		int n = graph.getNbNodes();
+		int[] vertices = new int[n];
+		for (int v = 0; v < n; v++) {
+			vertices[v] = v;
+		}
+		int[] index = new int[n];
+		int[] low = new int[n];
+		int[] component = new int[n];
+		Arrays.fill(index, -1);
+		Arrays.fill(component, -1);
+		int nbComponents = tarjan(graph, vertices, null, 0, index, low, component, new AtomicInteger());
+		return new StronglyConnectedComponents(component, nbComponents);
+	}
+
+	/**
+	 * Tarjan's algorithm restricted to the given vertices: if part is not null, only
+	 * the arcs towards the nodes w with part[w] == partId are followed.
+	 * index must be -1 and component must be -1 for the given vertices, the ids of the
+	 * components are taken from nextComponent.
+	 *
+	 * @return the number of components found
+	 */
+	private static int tarjan(AdjacencyArrayDirectedGraph graph, int[] vertices, int[] part, int partId,
+			int[] index, int[] low, int[] component, AtomicInteger nextComponent) {
+		int[] offsets = graph.getSuccOffsets();
+		int[] targets = graph.getSuccTargets();
+		int size = vertices.length;
+		int[] stack = new int[size];		// nodes waiting for their component
+		int[] callStack = new int[size];	// nodes being explored
+		int[] cursor = new int[size];		// next successor of each node being explored
+		int counter = 0;
+		int nbComponents = 0;
+		int top = 0;
+
+		for (int root : vertices) {
+			if (index[root] >= 0) {
+				continue;
+			}
+			int depth = 0;
+			index[root] = low[root] = counter++;
+			stack[top++] = root;
+			callStack[depth] = root;
+			cursor[depth++] = offsets[root];
+			while (depth > 0) {
+				int u = callStack[depth - 1];
+				if (cursor[depth - 1] < offsets[u + 1]) {
+					int w = targets[cursor[depth - 1]++];
+					if (part != null && part[w] != partId) {
+						continue;
+					}
+					if (index[w] < 0) {
+						index[w] = low[w] = counter++;
+						stack[top++] = w;
+						callStack[depth] = w;
+						cursor[depth++] = offsets[w];
+					} else if (component[w] < 0 && index[w] < low[u]) {
+						low[u] = index[w]; // w is on the stack
+					}
+				} else {
+					depth--;
+					if (low[u] == index[u]) {
+						// u is the root of a component
+						int id = nextComponent.getAndIncrement();
+						int w;
+						do {
+							w = stack[--top];
+							component[w] = id;
+						} while (w != u);
+						nbComponents++;
+					}
+					if (depth > 0) {
+						int parent = callStack[depth - 1];
+						if (low[u] < low[parent]) {
+							low[parent] = low[u];
+						}
+					}
+				}
+			}
+		}
+		return nbComponents;
+	}
+
+	/**
+	 * Tarjan's algorithm on an adjacency list, through its compressed sparse row form
+	 */
+	public static StronglyConnectedComponents tarjan(AdjacencyListDirectedGraph graph) {
+		return tarjan(new AdjacencyArrayDirectedGraph(graph));
+	}
+
+	/**
+	 * Parallel decomposition on the common fork-join pool
+	 */
+	public static StronglyConnectedComponents parallel(AdjacencyArrayDirectedGraph graph) {
+		return parallel(graph, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Parallel decomposition: the nodes without predecessor or without successor
+	 * are first removed as single components, in parallel rounds (trimming). The
+	 * remaining nodes are split by the forward-backward method: the nodes both
+	 * reachable from a pivot and reaching it form its component, and the nodes
+	 * reached only forward, only backward, or not at all are three independent
+	 * sub-problems solved by parallel tasks. Sub-problems smaller than
+	 * SEQUENTIAL_THRESHOLD are finished with Tarjan's algorithm.
+	 * The components are the same as those of tarjan or of Kosaraju, their ids are
+	 * not in topological order.
+	 */
+	public static StronglyConnectedComponents parallel(AdjacencyArrayDirectedGraph graph, ForkJoinPool pool) {
+		int n = graph.getNbNodes();
+		ParallelContext ctx = new ParallelContext(graph);
+		trim(ctx, pool);
+		int[] remaining = IntStream.range(0, n).filter(v -> ctx.part[v] == 0).toArray();
+		pool.invoke(new ForwardBackwardTask(ctx, remaining, 0));
+		return new StronglyConnectedComponents(ctx.component, ctx.nextComponent.get());
+	}
+
+	/**
+	 * State shared by the tasks of the parallel decomposition. The tasks work on
+	 * disjoint sets of nodes, identified by a partition id in part (-1 once the
+	 * component of the node is known), so they write to disjoint cells.
+	 */
+	private static final class ParallelContext {
+		final AdjacencyArrayDirectedGraph graph;
+		final int[] part;
+		final int[] component;
+		final int[] index;	// workspace of Tarjan's algorithm
+		final int[] low;	// workspace of Tarjan's algorithm
+		final AtomicInteger nextPart = new AtomicInteger(1);
+		final AtomicInteger nextComponent = new AtomicInteger(0);
+
+		ParallelContext(AdjacencyArrayDirectedGraph graph) {
+			int n = graph.getNbNodes();
+			this.graph = graph;
+			this.part = new int[n];
+			this.component = new int[n];
+			this.index = new int[n];
+			this.low = new int[n];
+			Arrays.fill(this.component, -1);
+			Arrays.fill(this.index, -1);
+		}
+	}
+
+	/**
+	 * Removes in parallel rounds the nodes having no remaining predecessor or no
+	 * remaining successor, each one being a component by itself
+	 */
+	private static void trim(ParallelContext ctx, ForkJoinPool pool) {
+		AdjacencyArrayDirectedGraph g = ctx.graph;
+		int n = g.getNbNodes();
+		int[] succOffsets = g.getSuccOffsets();
+		int[] succTargets = g.getSuccTargets();
+		int[] predOffsets = g.getPredOffsets();
+		int[] predSources = g.getPredSources();
+		AtomicIntegerArray inDeg = new AtomicIntegerArray(n);
+		AtomicIntegerArray outDeg = new AtomicIntegerArray(n);
+		AtomicIntegerArray removed = new AtomicIntegerArray(n);
+		for (int v = 0; v < n; v++) {
+			inDeg.set(v, g.getNbPreds(v));
+			outDeg.set(v, g.getNbSuccs(v));
+		}
+		int[] frontier = pool.submit(() -> IntStream.range(0, n).parallel()
+				.filter(v -> inDeg.get(v) == 0 || outDeg.get(v) == 0).toArray()).join();
+		while (frontier.length > 0) {
+			int[] current = frontier;
+			frontier = pool.submit(() -> IntStream.of(current).parallel().flatMap(v -> {
+				if (!removed.compareAndSet(v, 0, 1)) {
+					return IntStream.empty();
+				}
+				ctx.component[v] = ctx.nextComponent.getAndIncrement();
+				ctx.part[v] = -1;
+				IntStream.Builder next = IntStream.builder();
+				for (int i = succOffsets[v]; i < succOffsets[v + 1]; i++) {
+					int w = succTargets[i];
+					if (w != v && removed.get(w) == 0 && inDeg.decrementAndGet(w) == 0) {
+						next.add(w);
+					}
+				}
+				for (int i = predOffsets[v]; i < predOffsets[v + 1]; i++) {
+					int w = predSources[i];
+					if (w != v && removed.get(w) == 0 && outDeg.decrementAndGet(w) == 0) {
+						next.add(w);
+					}
+				}
+				return next.build();
+			}).toArray()).join();
+		}
+	}
+
+	/**
+	 * Forward-backward decomposition of the nodes of the partition partId
+	 */
+	private static final class ForwardBackwardTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final ParallelContext ctx;
+		private final int[] vertices;
+		private final int partId;
+
+		ForwardBackwardTask(ParallelContext ctx, int[] vertices, int partId) {
+			this.ctx = ctx;
+			this.vertices = vertices;
+			this.partId = partId;
+		}
+
+		@Override
+		protected void compute() {
+			if (this.vertices.length == 0) {
+				return;
+			}
+			if (this.vertices.length < SEQUENTIAL_THRESHOLD) {
+				tarjan(this.ctx.graph, this.vertices, this.ctx.part, this.partId, this.ctx.index, this.ctx.low,
+						this.ctx.component, this.ctx.nextComponent);
+				for (int v : this.vertices) {
+					this.ctx.part[v] = -1;
+				}
+				return;
+			}
+			int[] part = this.ctx.part;
+			int fwId = this.ctx.nextPart.getAndIncrement();
+			int bwId = this.ctx.nextPart.getAndIncrement();
+			int pivot = this.vertices[0];
+			int[] queue = new int[this.vertices.length];
+
+			// Forward: the nodes reachable from the pivot move to the partition fwId
+			AdjacencyArrayDirectedGraph g = this.ctx.graph;
+			int[] offsets = g.getSuccOffsets();
+			int[] targets = g.getSuccTargets();
+			int head = 0;
+			int tail = 0;
+			part[pivot] = fwId;
+			queue[tail++] = pivot;
+			while (head < tail) {
+				int u = queue[head++];
+				for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+					int w = targets[i];
+					if (part[w] == this.partId) {
+						part[w] = fwId;
+						queue[tail++] = w;
+					}
+				}
+			}
+
+			// Backward: the nodes reaching the pivot are in its component if they are
+			// reachable from it, else they move to the partition bwId
+			offsets = g.getPredOffsets();
+			targets = g.getPredSources();
+			int id = this.ctx.nextComponent.getAndIncrement();
+			head = 0;
+			tail = 0;
+			part[pivot] = -1;
+			this.ctx.component[pivot] = id;
+			queue[tail++] = pivot;
+			while (head < tail) {
+				int u = queue[head++];
+				for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+					int w = targets[i];
+					if (part[w] == fwId) {
+						part[w] = -1;
+						this.ctx.component[w] = id;
+						queue[tail++] = w;
+					} else if (part[w] == this.partId) {
+						part[w] = bwId;
+						queue[tail++] = w;
+					}
+				}
+			}
+
+			int nbFw = 0;
+			int nbBw = 0;
+			int nbRest = 0;
+			for (int v : this.vertices) {
+				if (part[v] == fwId) {
+					nbFw++;
+				} else if (part[v] == bwId) {
+					nbBw++;
+				} else if (part[v] == this.partId) {
+					nbRest++;
+				}
+			}
+			int[] fw = new int[nbFw];
+			int[] bw = new int[nbBw];
+			int[] rest = new int[nbRest];
+			nbFw = nbBw = nbRest = 0;
+			for (int v : this.vertices) {
+				if (part[v] == fwId) {
+					fw[nbFw++] = v;
+				} else if (part[v] == bwId) {
+					bw[nbBw++] = v;
+				} else if (part[v] == this.partId) {
+					rest[nbRest++] = v;
+				}
+			}
+			invokeAll(new ForwardBackwardTask(this.ctx, fw, fwId),
+					new ForwardBackwardTask(this.ctx, bw, bwId),
+					new ForwardBackwardTask(this.ctx, rest, this.partId));
+		}
+	}
+
+	/**
+	 * @return the decomposition given by a list of components, such as the result of
+	 *         GraphToolsList.explorerGrapheBis
+	 */
+	public static StronglyConnectedComponents fromLists(int nbNodes, List<List<DirectedNode>> components) {
+		int[] component = new int[nbNodes];
+		for (int c = 0; c < components.size(); c++) {
+			for (DirectedNode node : components.get(c)) {
+				component[node.getLabel()] = c;
+			}
+		}
+		return new StronglyConnectedComponents(component, components.size());
+	}
+
+	@Override
+	public String toString() {
+		List<String> s = new ArrayList<>();
+		for (int[] c : getComponents()) {
+			s.add(Arrays.toString(c));
+		}
+		return s.toString();
+	}
+
+	public static void main(String[] args) {
+		int[][] matrix = GraphTools.generateGraphData(10, 20, false, false, true, 100001);
+		AdjacencyListDirectedGraph al = new AdjacencyListDirectedGraph(matrix);
+		StronglyConnectedComponents scc = tarjan(al);
+		System.out.println("CFCs (Tarjan) : " + scc);
+
+		// Kosaraju de GraphToolsList pour comparaison
+		List<DirectedNode> ordreFin = GraphToolsList.explorerGraphe(al);
+		AdjacencyListDirectedGraph inverseGraph = al.computeInverse();
+		List<DirectedNode> ordreFinInverse = new ArrayList<>();
+		for (DirectedNode node : ordreFin) {
+			ordreFinInverse.add(inverseGraph.getNodeOfList(node));
+		}
+		StronglyConnectedComponents kosaraju = fromLists(al.getNbNodes(),
+				GraphToolsList.explorerGrapheBis(inverseGraph, ordreFinInverse));
+		System.out.println("CFCs (Kosaraju) : " + kosaraju);
+		System.out.println("Mêmes composantes ? " + scc.sameComponents(kosaraju));
+		StronglyConnectedComponents par = parallel(new AdjacencyArrayDirectedGraph(al));
+		System.out.println("CFCs (parallèle) : " + par);
+		System.out.println("Mêmes composantes ? " + par.sameComponents(kosaraju));
+
+		// Graphe aléatoire de 100000 noeuds, bien au-dessus de SEQUENTIAL_THRESHOLD : un
+		// circuit sur la moitié des noeuds forme une grande composante, les arcs
+		// aléatoires en ajoutent des petites autour
+		int n = 100000;
+		Random rand = new Random(42);
+		List<DirectedNode> nodes = new ArrayList<>();
+		for (int v = 0; v < n; v++) {
+			nodes.add(new DirectedNode(v));
+		}
+		AdjacencyListDirectedGraph big = new AdjacencyListDirectedGraph(nodes, new ArrayList<Arc>());
+		for (int v = 0; v < n / 2; v++) {
+			big.addArc(nodes.get(v), nodes.get((v + 1) % (n / 2)));
+		}
+		for (int k = 0; k < n; k++) {
+			int u = rand.nextInt(n);
+			int v = rand.nextInt(n);
+			if (u != v) {
+				big.addArc(nodes.get(u), nodes.get(v));
+			}
+		}
+		AdjacencyArrayDirectedGraph csr = new AdjacencyArrayDirectedGraph(big);
+		StronglyConnectedComponents sequential = tarjan(csr);
+		StronglyConnectedComponents concurrent = parallel(csr);
+		int largest = 0;
+		for (int[] c : sequential.getComponents()) {
+			largest = Math.max(largest, c.length);
+		}
+		System.out.println(sequential.getNbComponents() + " composantes, la plus grande de " + largest + " noeuds");
+		System.out.println("Mêmes composantes en parallèle ? " + concurrent.sameComponents(sequential));
+	}
+
+}
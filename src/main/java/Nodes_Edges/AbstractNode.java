@@ -40,6 +40,15 @@ public abstract class AbstractNode {
 		return n instanceof AbstractNode && ((AbstractNode) n).getLabel() == this.getLabel();
 	}
 
+	/**
+	 * consistent with equals, so that nodes of different graphs with the same label
+	 * are the same key in hash sets and maps
+	 * @return the label
+	 */
+	public int hashCode() {
+		return this.label;
+	}
+
 	public String toString() {
 		String s = "n_"+label;
 		return s;
@@ -1,19 +1,13 @@
 package Nodes_Edges;
 
-import java.util.LinkedHashMap;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
-
 public class DirectedNode extends AbstractNode {
 
     //--------------------------------------------------
     // 				Class variables
     //--------------------------------------------------
 
-	private List<Arc> arcSucc; // List of out-going arc from the node this.
-	private List<Arc> arcPred; // List of in-going arc from the node this.
+	private NeighbourList<Arc> arcSucc; // List of out-going arc from the node this.
+	private NeighbourList<Arc> arcPred; // List of in-going arc from the node this.
 
     //--------------------------------------------------
     // 				Constructors
@@ -21,8 +15,8 @@ public class DirectedNode extends AbstractNode {
 
     public DirectedNode(int i) {
         super(i);
-        this.arcSucc = new LinkedList<Arc>();
-        this.arcPred = new LinkedList<Arc>();
+        this.arcSucc = new NeighbourList<Arc>();
+        this.arcPred = new NeighbourList<Arc>();
     }
     
     
@@ -48,14 +42,14 @@ public class DirectedNode extends AbstractNode {
 	/** 
 	 * @return the list of out-going arcs that are successors of the current node represented by "this"
 	 */
-	public List<Arc> getArcSucc() {
+	public NeighbourList<Arc> getArcSucc() {
 		return this.arcSucc;
 	}
 	
 	/** 
 	 * @return the list of in-going arcs that are predecessors of the current node represented by "this"
 	 */
-	public List<Arc> getArcPred() {
+	public NeighbourList<Arc> getArcPred() {
 		return this.arcPred;
 	}
     		
@@ -70,24 +64,10 @@ public class DirectedNode extends AbstractNode {
 	 */
 	public void addArc(Arc a1) {
 		if(a1.getFirstNode().equals(this)) { // case where the arc is out-going from "this".
-			if(!this.getArcSucc().contains(a1)) {		
-				this.arcSucc.add(a1);
-			}
-			else {
-				// Update of the existing weight
-				int indexEdge = this.getArcSucc().indexOf(a1);
-				this.getArcSucc().get(indexEdge).setWeight(a1.getWeight());
-			}
+			this.arcSucc.put(a1.getSecondNode().getLabel(), a1); // updates the weight if it exists
 		}
 		else if(a1.getSecondNode().equals(this)) { // case where the arc is in-going to "this".
-			if(!this.getArcPred().contains(a1)) {		
-				this.arcPred.add(a1);
-			}
-			else {
-				// Update of the existing weight
-				int indexEdge = this.getArcPred().indexOf(a1);
-				this.getArcPred().get(indexEdge).setWeight(a1.getWeight());
-			}
+			this.arcPred.put(a1.getFirstNode().getLabel(), a1); // updates the weight if it exists
 		}
 				
 	}
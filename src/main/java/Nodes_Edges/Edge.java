@@ -6,6 +6,7 @@ public class Edge extends AbstractEdgeArc {
     // 				Class variables
     //--------------------------------------------------
 
+	private final Edge reversed;	// the edge this one is the other way round of, which holds the weight, null if none
 	
 	//--------------------------------------------------
     // 				Constructors
@@ -13,13 +14,23 @@ public class Edge extends AbstractEdgeArc {
 	
 	public Edge(UndirectedNode node1, UndirectedNode node2) {
 		super(node1, node2);
-		
+		this.reversed = null;
 	}
 	
 	public Edge(UndirectedNode node1, UndirectedNode node2, int weight) {
 		super(node1, node2,weight);
+		this.reversed = null;
 	}	
 
+	/**
+	 * The edge e the other way round, (node2,node1), for the list of node2: both share
+	 * the weight of e
+	 */
+	Edge(Edge e) {
+		super(e.getSecondNode(), e.getFirstNode());
+		this.reversed = e.reversed != null ? e.reversed : e;
+	}
+
 	
 	// ------------------------------------------
     // 				Accessors
@@ -52,6 +63,20 @@ public class Edge extends AbstractEdgeArc {
 	public void setSecondNode(UndirectedNode n2){
 		this.node2 = n2;
 	}
+
+	@Override
+	public int getWeight(){
+		return this.reversed != null ? this.reversed.getWeight() : super.getWeight();
+	}
+
+	@Override
+	public void setWeight(int weight){
+		if (this.reversed != null) {
+			this.reversed.setWeight(weight);
+		} else {
+			super.setWeight(weight);
+		}
+	}
 	
 	
 	// ------------------------------------------
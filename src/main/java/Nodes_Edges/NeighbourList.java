@@ -0,0 +1,188 @@
+package Nodes_Edges;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+
+import Collection.LongIntHashMap;
+
+/**
+ * Growable array-backed list of the arcs/edges incident to a node. Besides the
+ * arc/edge objects, kept for the code iterating on them, it stores in a parallel int
+ * array the label of the other extremity of each link, so that the neighbours can be
+ * read sequentially in memory. The weight is only held by the link itself, so that
+ * it stays right whichever way it is changed.
+ * A link is found by the label of its other extremity: by a scan of the labels for
+ * small lists, by a hash index once the list becomes bigger.
+ * Removing a link moves the last one to its position.
+ */
+public class NeighbourList<T extends AbstractEdgeArc> extends AbstractList<T> {
+
+	//--------------------------------------------------
+	// 				Class variables
+	//--------------------------------------------------
+
+	private static final int INDEX_THRESHOLD = 16; // under this size, the labels are scanned
+
+	private Object[] links;			// the arcs/edges
+	private int[] labels;			// label of the other extremity of each link
+	private int size;
+	private LongIntHashMap index;	// position of each label, null while the list is small
+
+	//--------------------------------------------------
+	// 				Constructors
+	//--------------------------------------------------
+
+	public NeighbourList() {
+		this.links = new Object[2];
+		this.labels = new int[2];
+		this.size = 0;
+		this.index = null;
+	}
+
+	// ------------------------------------------
+	// 				Accessors
+	// ------------------------------------------
+
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public T get(int i) {
+		checkPosition(i);
+		return (T) this.links[i];
+	}
+
+	/**
+	 * @return the label of the other extremity of the i-th link
+	 */
+	public int getLabel(int i) {
+		checkPosition(i);
+		return this.labels[i];
+	}
+
+	/**
+	 * @return the weight of the i-th link
+	 */
+	public int getWeight(int i) {
+		return get(i).getWeight();
+	}
+
+	/**
+	 * Changes the weight of the i-th link
+	 */
+	public void setWeight(int i, int weight) {
+		get(i).setWeight(weight);
+	}
+
+	/**
+	 * @return the position of the link to the node of this label, -1 if there is none
+	 */
+	public int indexOfLabel(int label) {
+		if (this.index != null) {
+			return this.index.getOrDefault(label, -1);
+		}
+		for (int i = 0; i < this.size; i++) {
+			if (this.labels[i] == label) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * @return true if there is a link to the node of this label
+	 */
+	public boolean containsLabel(int label) {
+		return indexOfLabel(label) >= 0;
+	}
+
+	// ------------------------------------------
+	// 				Methods
+	// ------------------------------------------
+
+	/**
+	 * Adds the link to the node of this label. If there is already one, only its
+	 * weight is changed to the weight of link.
+	 *
+	 * @return true if the link has been added
+	 */
+	public boolean put(int label, T link) {
+		int pos = indexOfLabel(label);
+		if (pos >= 0) {
+			this.setWeight(pos, link.getWeight());
+			return false;
+		}
+		if (this.size == this.links.length) {
+			int capacity = this.size + (this.size >> 1) + 1;
+			this.links = Arrays.copyOf(this.links, capacity);
+			this.labels = Arrays.copyOf(this.labels, capacity);
+		}
+		this.links[this.size] = link;
+		this.labels[this.size] = label;
+		if (this.index != null) {
+			this.index.put(label, this.size);
+		}
+		this.size++;
+		this.modCount++;
+		if (this.index == null && this.size > INDEX_THRESHOLD) {
+			this.index = new LongIntHashMap(this.links.length);
+			for (int i = 0; i < this.size; i++) {
+				this.index.put(this.labels[i], i);
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Removes the i-th link, the last link takes its position
+	 */
+	@Override
+	public T remove(int i) {
+		T removed = get(i);
+		int last = this.size - 1;
+		if (this.index != null) {
+			this.index.remove(this.labels[i]);
+			if (i != last) {
+				this.index.put(this.labels[last], i);
+			}
+		}
+		this.links[i] = this.links[last];
+		this.labels[i] = this.labels[last];
+		this.links[last] = null;
+		this.size--;
+		this.modCount++;
+		return removed;
+	}
+
+	/**
+	 * Removes the link to the node of this label
+	 *
+	 * @return true if there was one
+	 */
+	public boolean removeLabel(int label) {
+		int pos = indexOfLabel(label);
+		if (pos < 0) {
+			return false;
+		}
+		this.remove(pos);
+		return true;
+	}
+
+	@Override
+	public void clear() {
+		Arrays.fill(this.links, 0, this.size, null);
+		this.size = 0;
+		this.index = null;
+		this.modCount++;
+	}
+
+	private void checkPosition(int i) {
+		if (i < 0 || i >= this.size) {
+			throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + this.size);
+		}
+	}
+
+}
@@ -1,8 +1,5 @@
 package Nodes_Edges;
 
-import java.util.LinkedList;
-import java.util.List;
-
 
 /**
  * Created by gsimonin on 05/03/2025.
@@ -13,7 +10,7 @@ public class UndirectedNode extends AbstractNode {
     // 				Class variables
     //--------------------------------------------------
 
-	private List<Edge> incidentEdges; // List of edges incident with the node this.
+	private NeighbourList<Edge> incidentEdges; // List of edges incident with the node this.
 
     //--------------------------------------------------
     // 				Constructors
@@ -21,7 +18,7 @@ public class UndirectedNode extends AbstractNode {
 
     public UndirectedNode(int i) {
         super(i);
-        this.incidentEdges = new LinkedList<Edge>();        
+        this.incidentEdges = new NeighbourList<Edge>();
     }
 
     // ------------------------------------------
@@ -31,7 +28,7 @@ public class UndirectedNode extends AbstractNode {
     /**
      * @return the list of incident edges of the current node this
      */
-    public List<Edge> getIncidentEdges() {
+    public NeighbourList<Edge> getIncidentEdges() {
         return this.incidentEdges;
     }
 
@@ -48,24 +45,18 @@ public class UndirectedNode extends AbstractNode {
 	 * add a new edge with its value cost. If the neighbour exists, the weight is changed.
 	 */
 	public void addEdge(Edge e1) {
-		if(!this.getIncidentEdges().contains(e1)) {			
-			if(e1.getFirstNode().equals(this)) {
-				this.incidentEdges.add(e1);
-			}
-			else if(e1.getSecondNode().equals(this) ) {
-				this.incidentEdges.add(new Edge(e1.getSecondNode() ,e1.getFirstNode(),e1.getWeight()));
-			} 			
+		if(e1.getFirstNode().equals(this)) {
+			this.incidentEdges.put(e1.getSecondNode().getLabel(), e1); // updates the weight if it exists
 		}
-		else {
-			// Update of the existing weight
-			int indexEdge;
-			if(this.getIncidentEdges().contains(e1)){
-				indexEdge = this.getIncidentEdges().indexOf(e1);
+		else if(e1.getSecondNode().equals(this) ) {
+			int other = e1.getFirstNode().getLabel();
+			if(!this.incidentEdges.containsLabel(other)) {
+				this.incidentEdges.put(other, new Edge(e1)); // shares the weight of e1
 			}
 			else {
-				indexEdge = this.getIncidentEdges().indexOf(new Edge(e1.getSecondNode(),e1.getFirstNode()) );
+				// Update of the existing weight
+				this.incidentEdges.setWeight(this.incidentEdges.indexOfLabel(other), e1.getWeight());
 			}
-			this.getIncidentEdges().get(indexEdge).setWeight(e1.getWeight());
 		}
 	}
 
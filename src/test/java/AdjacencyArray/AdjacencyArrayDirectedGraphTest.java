@@ -0,0 +1,78 @@
+package AdjacencyArray;
+
+import static org.junit.Assert.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import AdjacencyList.AdjacencyListDirectedValuedGraph;
+
+class AdjacencyArrayDirectedGraphTest {
+    private AdjacencyArrayDirectedGraph graph;
+    private int[][] matrix = {
+        {0, 2, 0, 1},
+        {0, 0, 3, 0},
+        {0, 0, 0, 1},
+        {0, 4, 0, 0}
+    };
+
+    @BeforeEach
+    void setUp() {
+        graph = new AdjacencyArrayDirectedGraph(matrix);
+    }
+
+    @Test
+    void TestGetMatrix() {
+        assertArrayEquals(this.matrix, graph.toAdjacencyMatrix());
+    }
+
+    @Test
+    void TestGetMatrixFromList() {
+        AdjacencyArrayDirectedGraph fromList = new AdjacencyArrayDirectedGraph(
+                new AdjacencyListDirectedValuedGraph(matrix));
+        assertArrayEquals(this.matrix, fromList.toAdjacencyMatrix());
+    }
+
+    @Test
+    void TestGetNbNodes() {
+        assertEquals(4, graph.getNbNodes());
+    }
+
+    @Test
+    void TestGetNbArcs() {
+        assertEquals(5, graph.getNbArcs());
+    }
+
+    @Test
+    void TestGetSuccessors() {
+        int[] expected = { 1, 3 };
+        assertArrayEquals(expected, graph.getSuccessors(0));
+    }
+
+    @Test
+    void TestGetPredecessors() {
+        int[] expected = { 0, 3 };
+        assertArrayEquals(expected, graph.getPredecessors(1));
+    }
+
+    @Test
+    void TestPredecessorWeights() {
+        int v = 1;
+        int[] expected = { 2, 4 };
+        int[] weights = new int[graph.getNbPreds(v)];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = graph.getPredWeights()[graph.getPredOffsets()[v] + i];
+        }
+        assertArrayEquals(expected, weights);
+    }
+
+    @Test
+    void TestIsArc() {
+        assertTrue(graph.isArc(3, 1));
+    }
+
+    @Test
+    void TestIsNotArc() {
+        assertFalse(graph.isArc(1, 3));
+    }
+}
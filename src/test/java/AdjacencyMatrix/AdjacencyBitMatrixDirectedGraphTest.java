@@ -0,0 +1,73 @@
+package AdjacencyMatrix;
+
+import static org.junit.Assert.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import GraphAlgorithms.GraphTools;
+
+class AdjacencyBitMatrixDirectedGraphTest {
+    private AdjacencyBitMatrixDirectedGraph graph;
+    private int[][] matrix = {
+        {0, 1, 0, 1},
+        {0, 0, 1, 0},
+        {0, 0, 0, 1},
+        {0, 1, 0, 0}
+    };
+
+    @BeforeEach
+    void setUp() {
+        graph = new AdjacencyBitMatrixDirectedGraph(matrix);
+    }
+
+    @Test
+    void TestGetMatrix() {
+        assertArrayEquals(this.matrix, graph.toAdjacencyMatrix());
+    }
+
+    @Test
+    void TestGetNbArcs() {
+        assertEquals(5, graph.getNbArcs());
+    }
+
+    @Test
+    void TestGetSuccessors() {
+        int[] expected = { 1, 3 };
+        assertArrayEquals(expected, graph.getSuccessors(0));
+    }
+
+    @Test
+    void TestGetPredecessors() {
+        int[] expected = { 0, 2 };
+        assertArrayEquals(expected, graph.getPredecessors(3));
+    }
+
+    @Test
+    void TestAddArc() {
+        graph.addArc(0, 2);
+        assertTrue(graph.isArc(0, 2));
+        assertEquals(6, graph.getNbArcs());
+    }
+
+    @Test
+    void TestRemoveArc() {
+        graph.removeArc(0, 1);
+        assertFalse(graph.isArc(0, 1));
+        assertEquals(4, graph.getNbArcs());
+    }
+
+    @Test
+    void TestGetSuccessorsIntersection() {
+        int[] expected = { 1 };
+        assertArrayEquals(expected, graph.getSuccessorsIntersection(0, 3));
+    }
+
+    @Test
+    void TestComputeInverse() {
+        int[][] big = GraphTools.generateGraphData(150, 900, false, false, false, 100001);
+        AdjacencyBitMatrixDirectedGraph bits = new AdjacencyBitMatrixDirectedGraph(big);
+        AdjacencyMatrixDirectedGraph expected = new AdjacencyMatrixDirectedGraph(big).computeInverse();
+        assertArrayEquals(expected.getMatrix(), bits.computeInverse().toAdjacencyMatrix());
+    }
+}
@@ -0,0 +1,56 @@
+package AdjacencyMatrix;
+
+import static org.junit.Assert.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AdjacencyBitMatrixUndirectedGraphTest {
+    private AdjacencyBitMatrixUndirectedGraph graph;
+    private int[][] matrix = {
+        {0, 1, 0, 1},
+        {1, 0, 1, 0},
+        {0, 1, 0, 1},
+        {1, 0, 1, 0}
+    };
+
+    @BeforeEach
+    void setUp() {
+        graph = new AdjacencyBitMatrixUndirectedGraph(matrix);
+    }
+
+    @Test
+    void TestGetMatrix() {
+        assertArrayEquals(this.matrix, graph.toAdjacencyMatrix());
+    }
+
+    @Test
+    void TestGetNbEdges() {
+        assertEquals(4, graph.getNbEdges());
+    }
+
+    @Test
+    void TestGetNeighbours() {
+        int[] expected = { 1, 3 };
+        assertArrayEquals(expected, graph.getNeighbours(0));
+    }
+
+    @Test
+    void TestAddEdge() {
+        graph.addEdge(0, 2);
+        assertTrue(graph.isEdge(2, 0));
+        assertEquals(5, graph.getNbEdges());
+    }
+
+    @Test
+    void TestRemoveEdge() {
+        graph.removeEdge(1, 0);
+        assertFalse(graph.isEdge(0, 1));
+        assertEquals(3, graph.getNbEdges());
+    }
+
+    @Test
+    void TestGetNbCommonNeighbours() {
+        assertEquals(2, graph.getNbCommonNeighbours(0, 2));
+    }
+}
@@ -0,0 +1,64 @@
+package AdjacencyMatrix;
+
+import static org.junit.Assert.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AdjacencyPackedMatrixUndirectedGraphTest {
+    private AdjacencyPackedMatrixUndirectedGraph graph;
+    private int[][] matrix = {
+        {0, 3, 0, 1},
+        {3, 0, 2, 0},
+        {0, 2, 0, 5},
+        {1, 0, 5, 0}
+    };
+
+    @BeforeEach
+    void setUp() {
+        graph = new AdjacencyPackedMatrixUndirectedGraph(matrix);
+    }
+
+    @Test
+    void TestGetMatrix() {
+        assertArrayEquals(this.matrix, graph.toAdjacencyMatrix());
+    }
+
+    @Test
+    void TestGetNbEdges() {
+        assertEquals(4, graph.getNbEdges());
+    }
+
+    @Test
+    void TestGetNeighbours() {
+        int[] expected = { 1, 3 };
+        assertArrayEquals(expected, graph.getNeighbours(2));
+    }
+
+    @Test
+    void TestIsEdgeBothWays() {
+        assertTrue(graph.isEdge(3, 2));
+        assertTrue(graph.isEdge(2, 3));
+    }
+
+    @Test
+    void TestAddEdge() {
+        graph.addEdge(2, 0);
+        assertTrue(graph.isEdge(0, 2));
+        assertEquals(5, graph.getNbEdges());
+    }
+
+    @Test
+    void TestAddEdgeWithCost() {
+        graph.addEdge(3, 0, 7);
+        assertEquals(7, graph.getCost(0, 3));
+        assertEquals(4, graph.getNbEdges());
+    }
+
+    @Test
+    void TestRemoveEdge() {
+        graph.removeEdge(1, 0);
+        assertFalse(graph.isEdge(0, 1));
+        assertEquals(3, graph.getNbEdges());
+    }
+}